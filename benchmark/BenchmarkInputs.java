@@ -0,0 +1,90 @@
+package template.benchmark;
+
+import template.debug.RandomUtils;
+import template.egork.graph.Graph;
+
+/**
+ * Random inputs for the benchmarks, all drawn from {@link RandomUtils}. Call {@link #reset()} at the start of every
+ * setup so that each benchmark sees the same inputs from run to run.
+ */
+public class BenchmarkInputs {
+    public static final long SEED = 20170404;
+
+    private BenchmarkInputs() {
+    }
+
+    public static void reset() {
+        RandomUtils.setSeed(SEED);
+    }
+
+    public static int[] randomInts(int size, int bound) {
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = RandomUtils.uniform(bound);
+        }
+        return result;
+    }
+
+    public static long[] randomLongs(int size, int bound) {
+        long[] result = new long[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = RandomUtils.uniform(bound);
+        }
+        return result;
+    }
+
+    public static String randomString(int length, int alphabet) {
+        char[] result = new char[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = (char) ('a' + RandomUtils.uniform(alphabet));
+        }
+        return new String(result);
+    }
+
+    /**
+     * Numbers separated by single spaces, ready to be fed to a reader.
+     */
+    public static byte[] numberText(int[] numbers) {
+        StringBuilder builder = new StringBuilder();
+        for (int number : numbers) {
+            builder.append(number).append(' ');
+        }
+        return builder.toString().getBytes();
+    }
+
+    /**
+     * Edge endpoints of a random graph with a Hamiltonian path 0 -> 1 -> ... -> n - 1, so every vertex is reachable
+     * from 0 and the flow problems between 0 and n - 1 are non-trivial.
+     */
+    public static int[][] randomEdges(int vertexCount, int edgeCount) {
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            if (i < vertexCount - 1) {
+                from[i] = i;
+                to[i] = i + 1;
+            } else {
+                from[i] = RandomUtils.uniform(vertexCount);
+                to[i] = RandomUtils.uniform(vertexCount);
+            }
+        }
+        return new int[][]{from, to};
+    }
+
+    public static Graph weightedGraph(int vertexCount, int edgeCount, int maxWeight) {
+        int[][] edges = randomEdges(vertexCount, edgeCount);
+        return Graph.createWeightedGraph(vertexCount, edges[0], edges[1], randomLongs(edgeCount, maxWeight));
+    }
+
+    public static Graph flowGraph(int vertexCount, int edgeCount, int maxCapacity) {
+        int[][] edges = randomEdges(vertexCount, edgeCount);
+        return Graph.createFlowGraph(vertexCount, edges[0], edges[1], randomLongs(edgeCount, maxCapacity));
+    }
+
+    public static Graph flowWeightedGraph(int vertexCount, int edgeCount, int maxWeight, int maxCapacity) {
+        int[][] edges = randomEdges(vertexCount, edgeCount);
+        long[] weight = randomLongs(edgeCount, maxWeight);
+        long[] capacity = randomLongs(edgeCount, maxCapacity);
+        return Graph.createFlowWeightedGraph(vertexCount, edges[0], edges[1], weight, capacity);
+    }
+}
@@ -0,0 +1,16 @@
+package template.benchmark;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs every benchmark in this package, or only those matching the regular expression given as the first argument,
+ * e.g. {@code GraphBenchmark.dijkstra}.
+ */
+public class BenchmarkRunner {
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : BenchmarkRunner.class.getPackage().getName();
+        new Runner(new OptionsBuilder().include(include).build()).run();
+    }
+}
@@ -0,0 +1,123 @@
+package template.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import template.egork.collections.set.TreapSet;
+import template.egork.generated.collections.list.IntArrayList;
+import template.egork.generated.collections.set.IntHashSet;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert-then-query workloads for the hash, tree and list collections, with the {@code template.*} duplicates side by
+ * side with their {@code template.egork.*} counterparts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CollectionsBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private int[] keys;
+    private int[] queries;
+
+    @Setup
+    public void setup() {
+        BenchmarkInputs.reset();
+        keys = BenchmarkInputs.randomInts(size, 2 * size);
+        queries = BenchmarkInputs.randomInts(size, 2 * size);
+    }
+
+    @Benchmark
+    public int intHashSet() {
+        IntHashSet set = new IntHashSet();
+        for (int key : keys) {
+            set.add(key);
+        }
+        int found = 0;
+        for (int query : queries) {
+            if (set.contains(query)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int egorkEHashMap() {
+        return countHits(new template.egork.collections.map.EHashMap<>());
+    }
+
+    @Benchmark
+    public int eHashMap() {
+        return countHits(new template.collection.map.EHashMap<>());
+    }
+
+    private int countHits(Map<Integer, Integer> map) {
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        int found = 0;
+        for (int query : queries) {
+            if (map.get(query) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int treapSet() {
+        TreapSet<Integer> set = new TreapSet<>();
+        for (int key : keys) {
+            set.add(key);
+        }
+        int found = 0;
+        for (int query : queries) {
+            if (set.contains(query)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public long egorkIntArrayList() {
+        IntArrayList list = new IntArrayList();
+        for (int key : keys) {
+            list.add(key);
+        }
+        long sum = 0;
+        for (int i = 0; i < list.size(); i++) {
+            sum += list.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long intArrayList() {
+        template.collection.IntArrayList list = new template.collection.IntArrayList();
+        for (int key : keys) {
+            list.add(key);
+        }
+        long sum = 0;
+        for (int i = 0; i < list.size(); i++) {
+            sum += list.get(i);
+        }
+        return sum;
+    }
+}
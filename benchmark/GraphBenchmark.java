@@ -0,0 +1,91 @@
+package template.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import template.egork.collections.Pair;
+import template.egork.graph.Graph;
+import template.egork.graph.MaxFlow;
+import template.egork.graph.MinCostFlow;
+import template.egork.graph.ShortestDistance;
+import template.operation.ShortestPath;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shortest paths and flows on random sparse graphs with {@code edgeFactor * vertexCount} edges. Flow algorithms
+ * mutate the graph, so their graphs live in {@link FlowGraphs} and are rebuilt before every invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GraphBenchmark {
+    @Param({"1000", "100000"})
+    public int vertexCount;
+
+    @Param({"4"})
+    public int edgeFactor;
+
+    private Graph weighted;
+    private ShortestPath shortestPath;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkInputs.reset();
+        int edgeCount = edgeFactor * vertexCount;
+        weighted = BenchmarkInputs.weightedGraph(vertexCount, edgeCount, 1000000);
+        shortestPath = new ShortestPath(vertexCount);
+        for (int i = 0; i < weighted.edgeCount(); i++) {
+            shortestPath.addE(weighted.source(i), weighted.destination(i), (int) weighted.weight(i));
+        }
+    }
+
+    @Benchmark
+    public long[] dijkstra() {
+        return ShortestDistance.dijkstraAlgorithm(weighted, 0).first;
+    }
+
+    @Benchmark
+    public long[] shortestPathDijkstra() {
+        return shortestPath.dijkstra(0);
+    }
+
+    @Benchmark
+    public long dinic(FlowGraphs graphs) {
+        return MaxFlow.dinic(graphs.flow, 0, vertexCount - 1);
+    }
+
+    @Benchmark
+    public Pair<Long, Long> minCostFlow(FlowGraphs graphs) {
+        return MinCostFlow.minCostMaxFlow(graphs.costFlow, 0, graphs.costFlow.vertexCount() - 1, false);
+    }
+
+    /**
+     * Graphs for the flow benchmarks, rebuilt before every invocation of those benchmarks only.
+     */
+    @State(Scope.Benchmark)
+    public static class FlowGraphs {
+        private Graph flow;
+        private Graph costFlow;
+
+        @Setup(Level.Invocation)
+        public void setup(GraphBenchmark benchmark) {
+            BenchmarkInputs.reset();
+            int edgeCount = benchmark.edgeFactor * benchmark.vertexCount;
+            flow = BenchmarkInputs.flowGraph(benchmark.vertexCount, edgeCount, 1000);
+            costFlow = BenchmarkInputs.flowWeightedGraph(benchmark.vertexCount / 10, edgeCount / 10, 1000, 10);
+        }
+    }
+}
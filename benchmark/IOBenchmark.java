@@ -0,0 +1,108 @@
+package template.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import template.egork.utils.io.ByteOutputWriter;
+import template.egork.utils.io.InputReader;
+import template.egork.utils.io.MappedInputReader;
+import template.egork.utils.io.OutputWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token throughput of the readers and writers: {@code size} integers per invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IOBenchmark {
+    @Param({"100000", "10000000"})
+    public int size;
+
+    private int[] numbers;
+    private byte[] text;
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        BenchmarkInputs.reset();
+        numbers = BenchmarkInputs.randomInts(size, Integer.MAX_VALUE);
+        text = BenchmarkInputs.numberText(numbers);
+        file = File.createTempFile("benchmark", ".txt");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(text);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public long egorkInputReader() {
+        return readAll(new InputReader(new ByteArrayInputStream(text)));
+    }
+
+    @Benchmark
+    public long mappedInputReader() {
+        MappedInputReader in = new MappedInputReader(file.getPath());
+        long result = readAll(in);
+        in.close();
+        return result;
+    }
+
+    @Benchmark
+    public long debugInputReader() {
+        template.debug.InputReader in = new template.debug.InputReader(new ByteArrayInputStream(text));
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += in.readInt();
+        }
+        return sum;
+    }
+
+    private long readAll(InputReader in) {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += in.readInt();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void outputWriter() {
+        writeAll(new OutputWriter(OutputStream.nullOutputStream()));
+    }
+
+    @Benchmark
+    public void byteOutputWriter() {
+        writeAll(new ByteOutputWriter(OutputStream.nullOutputStream()));
+    }
+
+    private void writeAll(OutputWriter out) {
+        for (int number : numbers) {
+            out.printLine(number);
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,59 @@
+package template.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import template.egork.numbers.FastFourierTransform;
+import template.numbers.FFT;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polynomial multiplication of two random polynomials of degree {@code size - 1}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NumbersBenchmark {
+    @Param({"1024", "65536", "1048576"})
+    public int size;
+
+    private int[] first;
+    private int[] second;
+    private long[] firstLong;
+    private long[] secondLong;
+
+    @Setup
+    public void setup() {
+        BenchmarkInputs.reset();
+        first = BenchmarkInputs.randomInts(size, 1000);
+        second = BenchmarkInputs.randomInts(size, 1000);
+        firstLong = new long[size];
+        secondLong = new long[size];
+        for (int i = 0; i < size; i++) {
+            firstLong[i] = first[i];
+            secondLong[i] = second[i];
+        }
+    }
+
+    @Benchmark
+    public long[] fastFourierTransform() {
+        return FastFourierTransform.multiply(firstLong, secondLong);
+    }
+
+    @Benchmark
+    public long[] fft() {
+        return FFT.multiplyX(first, second);
+    }
+}
@@ -0,0 +1,83 @@
+package template.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import template.egork.collections.Pair;
+import template.egork.generated.collections.list.IntList;
+import template.egork.graph.Graph;
+import template.egork.graph.ShortestDistance;
+import template.egork.graph.ShortestPathQueries;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queries per second for batches of {@code QUERIES} (source, target) pairs whose sources are drawn from
+ * {@code hotSources} vertices, against a random sparse graph with {@code 4 * vertexCount} edges. The cached engine is
+ * shared between invocations, as in a long-running service; the uncached one has a cache of size zero, so it shows
+ * grouping and bidirectional search alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ShortestPathQueriesBenchmark {
+    private static final int QUERIES = 1024;
+
+    @Param({"10000", "100000"})
+    public int vertexCount;
+
+    @Param({"16", "1024"})
+    public int hotSources;
+
+    private Graph graph;
+    private int[] sources;
+    private int[] targets;
+    private ShortestPathQueries cached;
+    private ShortestPathQueries uncached;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkInputs.reset();
+        graph = BenchmarkInputs.weightedGraph(vertexCount, 4 * vertexCount, 1000000);
+        sources = BenchmarkInputs.randomInts(QUERIES, hotSources);
+        targets = BenchmarkInputs.randomInts(QUERIES, vertexCount);
+        cached = new ShortestPathQueries(graph);
+        uncached = new ShortestPathQueries(graph.freeze(), 0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public long[] cachedQueries() {
+        return cached.distances(sources, targets);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public long[] uncachedQueries() {
+        return uncached.distances(sources, targets);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public long[] dijkstraPerQuery() {
+        long[] result = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            Pair<Long, IntList> path = ShortestDistance.dijkstraAlgorithm(graph, sources[i], targets[i]);
+            result[i] = path == null ? Long.MAX_VALUE : path.first;
+        }
+        return result;
+    }
+}
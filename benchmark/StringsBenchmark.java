@@ -0,0 +1,52 @@
+package template.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import template.egork.string.SuffixAutomaton;
+import template.string.SuffixArray;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction of suffix structures over random strings; a small alphabet gives long repeats.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StringsBenchmark {
+    @Param({"10000", "1000000"})
+    public int length;
+
+    @Param({"2", "26"})
+    public int alphabet;
+
+    private String text;
+
+    @Setup
+    public void setup() {
+        BenchmarkInputs.reset();
+        text = BenchmarkInputs.randomString(length, alphabet);
+    }
+
+    @Benchmark
+    public SuffixArray suffixArray() {
+        return new SuffixArray(text);
+    }
+
+    @Benchmark
+    public SuffixAutomaton suffixAutomaton() {
+        return new SuffixAutomaton(text);
+    }
+}
@@ -0,0 +1,97 @@
+package template.concurrency;
+
+import java.io.PrintWriter;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Streaming replacement for {@link Scheduler} on a fixed work-stealing pool. Uses a bounded reorder window: at most
+ * {@code window} tests are alive at any moment (read but not yet written), the reader blocks once it is that far ahead
+ * of the writer, and each task is dropped as soon as it has been written. Peak heap depends on the window only.
+ */
+public class PipelineScheduler {
+    private final AtomicReferenceArray<Task> solved;
+    private final Semaphore freeSlots;
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final PrintWriter out;
+    private final int testCount;
+    private int written;
+
+    public PipelineScheduler(Scanner in, PrintWriter out, TaskFactory factory, int numParallel, int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.out = out;
+        testCount = in.nextInt();
+        solved = new AtomicReferenceArray<>(window);
+        freeSlots = new Semaphore(window);
+        ForkJoinPool pool = new ForkJoinPool(numParallel);
+        try {
+            for (int i = 0; i < testCount && failure.get() == null; i++) {
+                freeSlots.acquire();
+                if (failure.get() != null) {
+                    // a failed task releases every slot to wake this thread, do not read into its slot
+                    break;
+                }
+                Task task = factory.newTask();
+                task.read(in);
+                int index = i;
+                pool.execute(() -> {
+                    try {
+                        task.solve();
+                        solved.set(index % solved.length(), task);
+                        drain();
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                        freeSlots.release(solved.length());
+                    }
+                });
+            }
+            if (failure.get() == null) {
+                freeSlots.acquire(window);
+            }
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        } finally {
+            pool.shutdown();
+        }
+        if (failure.get() != null) {
+            throw new RuntimeException(failure.get());
+        }
+    }
+
+    public PipelineScheduler(Scanner in, PrintWriter out, TaskFactory factory, int numParallel) {
+        this(in, out, factory, numParallel, numParallel * 4);
+    }
+
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            int released = 0;
+            while (written < testCount && failure.get() == null) {
+                int slot = written % solved.length();
+                Task task = solved.get(slot);
+                if (task == null) {
+                    break;
+                }
+                task.write(out, written + 1);
+                solved.set(slot, null);
+                written++;
+                released++;
+            }
+            if (released != 0) {
+                out.flush();
+                freeSlots.release(released);
+            }
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
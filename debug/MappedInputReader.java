@@ -0,0 +1,204 @@
+package template.debug;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.InputMismatchException;
+
+/**
+ * {@link InputReader} over a memory-mapped file. Bytes are taken straight from a {@link MappedByteBuffer}; files larger
+ * than 2GB are mapped window by window as the reader advances. {@link #readInt()} and {@link #readLong()} parse
+ * without allocating, all other readers behave exactly as in {@link InputReader}.
+ */
+public class MappedInputReader extends InputReader {
+    private static final long WINDOW = Integer.MAX_VALUE;
+    private static final int ROUNDS = 5;
+
+    private final FileChannel channel;
+    private final long size;
+    private MappedByteBuffer buffer;
+    private long base;
+    private int position;
+    private int limit;
+    private boolean finished;
+
+    public MappedInputReader(String fileName) {
+        this(open(fileName));
+    }
+
+    public MappedInputReader(FileChannel channel) {
+        super(null);
+        this.channel = channel;
+        try {
+            size = channel.size();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        map(0);
+    }
+
+    private static FileChannel open(String fileName) {
+        try {
+            return FileChannel.open(Paths.get(fileName), StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void map(long offset) {
+        base = offset;
+        position = 0;
+        limit = (int) Math.min(WINDOW, size - offset);
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, limit);
+        } catch (IOException e) {
+            throw new InputMismatchException();
+        }
+    }
+
+    private boolean ensure() {
+        if (position < limit) {
+            return true;
+        }
+        if (base + limit >= size) {
+            return false;
+        }
+        map(base + limit);
+        return true;
+    }
+
+    @Override
+    public int read() {
+        if (finished) {
+            throw new InputMismatchException();
+        }
+        if (!ensure()) {
+            finished = true;
+            return -1;
+        }
+        return buffer.get(position++);
+    }
+
+    @Override
+    public int peek() {
+        if (finished || !ensure()) {
+            return -1;
+        }
+        return buffer.get(position);
+    }
+
+    @Override
+    public int readInt() {
+        if (getFilter() != null) {
+            return super.readInt();
+        }
+        int c = read();
+        while (isWhitespace(c)) {
+            c = read();
+        }
+        boolean negative = c == '-';
+        if (negative) {
+            c = read();
+        }
+        if (c < '0' || c > '9') {
+            throw new InputMismatchException();
+        }
+        int res = c - '0';
+        while (ensure()) {
+            c = buffer.get(position);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            res = res * 10 + c - '0';
+            position++;
+        }
+        if (!isWhitespace(read())) {
+            throw new InputMismatchException();
+        }
+        return negative ? -res : res;
+    }
+
+    @Override
+    public long readLong() {
+        if (getFilter() != null) {
+            return super.readLong();
+        }
+        int c = read();
+        while (isWhitespace(c)) {
+            c = read();
+        }
+        boolean negative = c == '-';
+        if (negative) {
+            c = read();
+        }
+        if (c < '0' || c > '9') {
+            throw new InputMismatchException();
+        }
+        long res = c - '0';
+        while (ensure()) {
+            c = buffer.get(position);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            res = res * 10 + c - '0';
+            position++;
+        }
+        if (!isWhitespace(read())) {
+            throw new InputMismatchException();
+        }
+        return negative ? -res : res;
+    }
+
+    public static MappedInputReader from(String path) {
+        return new MappedInputReader(path);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 50000000;
+        File file = File.createTempFile("numbers", ".txt");
+        file.deleteOnExit();
+        try (PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+            for (int i = 0; i < n; i++) {
+                out.print(RandomUtils.uniform(-1000000000, 1000000000));
+                out.print(i % 16 == 15 ? '\n' : ' ');
+            }
+        }
+        for (int round = 0; round < ROUNDS; round++) {
+            testThroughput(new InputReader(new FileInputStream(file)), n, file.length());
+            testThroughput(new MappedInputReader(file.getPath()), n, file.length());
+            System.err.println();
+        }
+    }
+
+    private static void testThroughput(InputReader in, int n, long bytes) {
+        long start = System.nanoTime();
+        long checksum = 0;
+        for (int i = 0; i < n; i++) {
+            checksum += in.readInt();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        in.close();
+        System.err.printf("%s: %.3fs, %.1fMB/s (%d)\n", in.getClass().getSimpleName(), seconds,
+                bytes / seconds / (1 << 20), checksum);
+    }
+}
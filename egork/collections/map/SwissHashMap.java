@@ -0,0 +1,282 @@
+package template.egork.collections.map;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Drop-in alternative to {@link EHashMap} with a SwissTable layout: keys and values live in flat parallel arrays and a
+ * separate control byte per slot holds either a marker (empty, deleted) or seven bits of the key's hash. Lookups read
+ * eight control bytes as one {@code long} and find every candidate slot of the group with a few bit operations, so
+ * {@code equals} is only called on keys whose hash fragment matches and nothing is allocated per entry.
+ *
+ * Like {@link EHashMap}, {@code null} keys are ignored.
+ */
+public class SwissHashMap<E, V> extends AbstractMap<E, V> {
+    private static final VarHandle GROUP_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+    private static final int GROUP = 8;
+    private static final byte EMPTY = (byte) 0x80;
+    private static final byte DELETED = (byte) 0xFE;
+    private static final long LSBS = 0x0101010101010101L;
+    private static final long MSBS = 0x8080808080808080L;
+
+    private byte[] control;
+    private Object[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int growthLeft;
+    private Set<Entry<E, V>> entrySet;
+
+    public SwissHashMap() {
+        this(4);
+    }
+
+    public SwissHashMap(int maxSize) {
+        int capacity = GROUP;
+        while (capacity - capacity / 8 < maxSize) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    public SwissHashMap(Map<E, V> map) {
+        this(map.size());
+        putAll(map);
+    }
+
+    @Override
+    public Set<Entry<E, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Entry<E, V>>() {
+                @Override
+                public Iterator<Entry<E, V>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    @Override
+    public void clear() {
+        allocate(mask + 1);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public V get(Object o) {
+        int index = find(o);
+        //noinspection unchecked
+        return index == -1 ? null : (V) values[index];
+    }
+
+    @Override
+    public boolean containsKey(Object o) {
+        return find(o) != -1;
+    }
+
+    @Override
+    public V put(E e, V value) {
+        if (e == null) {
+            return null;
+        }
+        int hash = hash(e);
+        int index = find(e, hash);
+        if (index != -1) {
+            //noinspection unchecked
+            V oldValue = (V) values[index];
+            values[index] = value;
+            return oldValue;
+        }
+        if (growthLeft == 0) {
+            rehash();
+        }
+        index = findInsertSlot(hash);
+        if (control[index] == EMPTY) {
+            growthLeft--;
+        }
+        setControl(index, (byte) (hash & 0x7F));
+        keys[index] = e;
+        values[index] = value;
+        size++;
+        return null;
+    }
+
+    @Override
+    public V remove(Object o) {
+        int index = find(o);
+        if (index == -1) {
+            return null;
+        }
+        //noinspection unchecked
+        V oldValue = (V) values[index];
+        erase(index);
+        return oldValue;
+    }
+
+    private static int hash(Object o) {
+        int h = o.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int find(Object o) {
+        if (o == null) {
+            return -1;
+        }
+        return find(o, hash(o));
+    }
+
+    private int find(Object o, int hash) {
+        long pattern = LSBS * (hash & 0x7F);
+        int position = (hash >>> 7) & mask;
+        for (int step = GROUP; ; step += GROUP) {
+            long group = (long) GROUP_VIEW.get(control, position);
+            long x = group ^ pattern;
+            for (long matches = (x - LSBS) & ~x & MSBS; matches != 0; matches &= matches - 1) {
+                int index = (position + (Long.numberOfTrailingZeros(matches) >>> 3)) & mask;
+                Object key = keys[index];
+                // the zero-byte trick may also flag the byte after a real match, so the slot can be empty here
+                if (key == o || key != null && key.equals(o)) {
+                    return index;
+                }
+            }
+            if ((group & ~group << 6 & MSBS) != 0) {
+                return -1;
+            }
+            position = (position + step) & mask;
+        }
+    }
+
+    private int findInsertSlot(int hash) {
+        int position = (hash >>> 7) & mask;
+        for (int step = GROUP; ; step += GROUP) {
+            long free = (long) GROUP_VIEW.get(control, position) & MSBS;
+            if (free != 0) {
+                return (position + (Long.numberOfTrailingZeros(free) >>> 3)) & mask;
+            }
+            position = (position + step) & mask;
+        }
+    }
+
+    private void setControl(int index, byte value) {
+        control[index] = value;
+        // the first group is mirrored after the end, so that a group read starting near the end wraps around
+        control[((index - GROUP) & mask) + GROUP] = value;
+    }
+
+    private void erase(int index) {
+        setControl(index, DELETED);
+        keys[index] = null;
+        values[index] = null;
+        size--;
+    }
+
+    private void rehash() {
+        byte[] oldControl = control;
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int capacity = mask + 1;
+        allocate(size >= capacity / 2 ? capacity * 2 : capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldControl[i] >= 0) {
+                int hash = hash(oldKeys[i]);
+                int index = findInsertSlot(hash);
+                setControl(index, (byte) (hash & 0x7F));
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+                growthLeft--;
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        control = new byte[capacity + GROUP];
+        Arrays.fill(control, EMPTY);
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        size = 0;
+        growthLeft = capacity - capacity / 8;
+    }
+
+    private class EntryIterator implements Iterator<Entry<E, V>> {
+        private int next = advance(-1);
+        private int last = -1;
+
+        private int advance(int from) {
+            int index = from + 1;
+            while (index < keys.length && control[index] < 0) {
+                index++;
+            }
+            return index;
+        }
+
+        public boolean hasNext() {
+            return next < keys.length;
+        }
+
+        public Entry<E, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next);
+            //noinspection unchecked
+            return new SlotEntry((E) keys[last], last);
+        }
+
+        public void remove() {
+            if (last == -1 || control[last] < 0) {
+                throw new IllegalStateException();
+            }
+            erase(last);
+        }
+    }
+
+    private class SlotEntry implements Entry<E, V> {
+        private final E key;
+        private final int index;
+
+        private SlotEntry(E key, int index) {
+            this.key = key;
+            this.index = index;
+        }
+
+        public E getKey() {
+            return key;
+        }
+
+        public V getValue() {
+            //noinspection unchecked
+            return (V) values[index];
+        }
+
+        public V setValue(V value) {
+            if (keys[index] != key) {
+                throw new IllegalStateException();
+            }
+            V oldValue = getValue();
+            values[index] = value;
+            return oldValue;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package template.egork.concurrency;
+
+import template.egork.utils.io.InputReader;
+import template.egork.utils.io.OutputWriter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Drop-in alternative to {@link Scheduler} that solves tests on a fixed work-stealing pool instead of one thread per
+ * test. Reading of later tests overlaps with solving of earlier ones, and every solved prefix is written (and flushed)
+ * as soon as it is complete, so output streams out while the rest of the batch is still running.
+ */
+public class WorkStealingScheduler {
+    private final AtomicReferenceArray<Task> solved;
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final OutputWriter out;
+    private int written;
+
+    public WorkStealingScheduler(InputReader in, OutputWriter out, TaskFactory factory, int numParallel) {
+        this.out = out;
+        int testCount = in.readInt();
+        solved = new AtomicReferenceArray<>(testCount);
+        CountDownLatch remaining = new CountDownLatch(testCount);
+        ForkJoinPool pool = new ForkJoinPool(numParallel);
+        try {
+            for (int i = 0; i < testCount; i++) {
+                Task task = factory.newTask();
+                task.read(in);
+                int index = i;
+                pool.execute(() -> {
+                    try {
+                        task.solve();
+                        solved.set(index, task);
+                        drain();
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        remaining.countDown();
+                    }
+                });
+            }
+            remaining.await();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        } finally {
+            pool.shutdown();
+        }
+        if (failure.get() != null) {
+            throw new RuntimeException(failure.get());
+        }
+    }
+
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            boolean progress = false;
+            while (written < solved.length()) {
+                Task task = solved.get(written);
+                if (task == null) {
+                    break;
+                }
+                task.write(out, written + 1);
+                solved.set(written++, null);
+                progress = true;
+            }
+            if (progress) {
+                out.flush();
+            }
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
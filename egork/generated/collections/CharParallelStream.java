@@ -0,0 +1,228 @@
+package template.egork.generated.collections;
+
+import template.egork.generated.collections.function.CharFilter;
+import template.egork.generated.collections.function.CharCharToCharFunction;
+import template.egork.generated.collections.function.CharTask;
+import template.egork.generated.collections.function.CharToCharFunction;
+import template.egork.generated.collections.list.CharArray;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Parallel view of a range of a {@code char[]}, obtained from {@link CharStream#parallel()}. {@code filter} and
+ * {@code map} only record a stage; a terminal operation cuts the range into blocks, pushes every element of a block
+ * through the stages and into a per-block accumulator on the common fork-join pool, then combines the few block results
+ * in order. Functions passed in must be stateless, since they are called from several threads at once.
+ */
+public class CharParallelStream {
+    private static final int BLOCK = 1 << 16;
+
+    private final char[] data;
+    private final int from;
+    private final int to;
+    private final Stage stage;
+
+    public CharParallelStream(char[] data) {
+        this(data, 0, data.length);
+    }
+
+    public CharParallelStream(char[] data, int from, int to) {
+        this(data, from, to, null);
+    }
+
+    private CharParallelStream(char[] data, int from, int to, Stage stage) {
+        this.data = data;
+        this.from = from;
+        this.to = to;
+        this.stage = stage;
+    }
+
+    public CharParallelStream filter(CharFilter f) {
+        return then(downstream -> value -> {
+            if (f.accept(value)) {
+                downstream.process(value);
+            }
+        });
+    }
+
+    public CharParallelStream map(CharToCharFunction function) {
+        return then(downstream -> value -> downstream.process(function.value(value)));
+    }
+
+    public int count() {
+        if (stage == null) {
+            return to - from;
+        }
+        int[] counts = new int[blocks()];
+        run(counts.length, (block, from, to) -> {
+            int[] count = new int[1];
+            forEach(from, to, value -> count[0]++);
+            counts[block] = count[0];
+        });
+        int result = 0;
+        for (int count : counts) {
+            result += count;
+        }
+        return result;
+    }
+
+    public int count(CharFilter filter) {
+        return filter(filter).count();
+    }
+
+    public int sum() {
+        int[] sums = new int[blocks()];
+        run(sums.length, (block, from, to) -> {
+            if (stage == null) {
+                int sum = 0;
+                for (int i = from; i < to; i++) {
+                    sum += data[i];
+                }
+                sums[block] = sum;
+            } else {
+                int[] sum = new int[1];
+                forEach(from, to, value -> sum[0] += value);
+                sums[block] = sum[0];
+            }
+        });
+        int result = 0;
+        for (int sum : sums) {
+            result += sum;
+        }
+        return result;
+    }
+
+    public char min() {
+        return reduce(Character.MAX_VALUE, (a, b) -> b < a ? b : a);
+    }
+
+    public char max() {
+        return reduce(Character.MIN_VALUE, (a, b) -> b > a ? b : a);
+    }
+
+    /**
+     * Folds every block starting from {@code identity} and then folds the block results; {@code f} must be
+     * associative and {@code identity} neutral for it.
+     */
+    public char reduce(char identity, CharCharToCharFunction f) {
+        char[] results = new char[blocks()];
+        run(results.length, (block, from, to) -> {
+            if (stage == null) {
+                char result = identity;
+                for (int i = from; i < to; i++) {
+                    result = f.value(result, data[i]);
+                }
+                results[block] = result;
+            } else {
+                char[] result = {identity};
+                forEach(from, to, value -> result[0] = f.value(result[0], value));
+                results[block] = result[0];
+            }
+        });
+        char result = identity;
+        for (char value : results) {
+            result = f.value(result, value);
+        }
+        return result;
+    }
+
+    public int[] qty(int bound) {
+        int[][] qties = new int[blocks()][];
+        run(qties.length, (block, from, to) -> {
+            int[] qty = new int[bound];
+            forEach(from, to, value -> qty[(int) value]++);
+            qties[block] = qty;
+        });
+        int[] result = new int[bound];
+        for (int[] qty : qties) {
+            for (int i = 0; i < bound; i++) {
+                result[i] += qty[i];
+            }
+        }
+        return result;
+    }
+
+    public int[] qty() {
+        return qty(max() + 1);
+    }
+
+    /**
+     * Collects the remaining elements in their original order.
+     */
+    public CharArray compute() {
+        char[][] parts = new char[blocks()][];
+        int[] sizes = new int[parts.length];
+        run(parts.length, (block, from, to) -> {
+            char[] part = new char[to - from];
+            int[] size = new int[1];
+            forEach(from, to, value -> part[size[0]++] = value);
+            parts[block] = part;
+            sizes[block] = size[0];
+        });
+        int total = 0;
+        for (int size : sizes) {
+            total += size;
+        }
+        char[] result = new char[total];
+        int position = 0;
+        for (int i = 0; i < parts.length; i++) {
+            System.arraycopy(parts[i], 0, result, position, sizes[i]);
+            position += sizes[i];
+        }
+        return new CharArray(result);
+    }
+
+    /**
+     * Calls {@code task} for every element, from several threads and in no particular order.
+     */
+    public void forEach(CharTask task) {
+        run(blocks(), (block, from, to) -> forEach(from, to, task));
+    }
+
+    private CharParallelStream then(Stage next) {
+        Stage previous = stage;
+        return new CharParallelStream(data, from, to, previous == null ? next :
+                downstream -> previous.wrap(next.wrap(downstream)));
+    }
+
+    private void forEach(int from, int to, CharTask sink) {
+        CharTask task = stage == null ? sink : stage.wrap(sink);
+        for (int i = from; i < to; i++) {
+            task.process(data[i]);
+        }
+    }
+
+    private int blocks() {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        if (parallelism <= 1) {
+            return 1;
+        }
+        return Math.max(1, Math.min(4 * parallelism, (to - from + BLOCK - 1) / BLOCK));
+    }
+
+    private void run(int blocks, BlockTask task) {
+        int length = to - from;
+        if (blocks == 1) {
+            task.run(0, from, to);
+            return;
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(blocks);
+        for (int i = 0; i < blocks; i++) {
+            int block = i;
+            tasks.add(ForkJoinTask.adapt(() -> task.run(block, from + (int) ((long) length * block / blocks),
+                    from + (int) ((long) length * (block + 1) / blocks))));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    private interface Stage {
+        CharTask wrap(CharTask downstream);
+    }
+
+    private interface BlockTask {
+        void run(int block, int from, int to);
+    }
+}
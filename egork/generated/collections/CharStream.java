@@ -64,6 +64,14 @@ public interface CharStream extends Iterable<Character>, Comparable<CharStream>
         return new CharArrayList(this);
     }
 
+    /**
+     * Copies the elements into an array and returns a parallel view of it; array-backed lists hand out their own
+     * storage instead.
+     */
+    default public CharParallelStream parallel() {
+        return new CharParallelStream(compute().toArray());
+    }
+
     default public int compareTo(CharStream c) {
         CharIterator it = charIterator();
         CharIterator jt = c.charIterator();
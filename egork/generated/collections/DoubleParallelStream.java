@@ -0,0 +1,228 @@
+package template.egork.generated.collections;
+
+import template.egork.generated.collections.function.DoubleFilter;
+import template.egork.generated.collections.function.DoubleDoubleToDoubleFunction;
+import template.egork.generated.collections.function.DoubleTask;
+import template.egork.generated.collections.function.DoubleToDoubleFunction;
+import template.egork.generated.collections.list.DoubleArray;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Parallel view of a range of a {@code double[]}, obtained from {@link DoubleStream#parallel()}. {@code filter} and
+ * {@code map} only record a stage; a terminal operation cuts the range into blocks, pushes every element of a block
+ * through the stages and into a per-block accumulator on the common fork-join pool, then combines the few block results
+ * in order. Functions passed in must be stateless, since they are called from several threads at once.
+ */
+public class DoubleParallelStream {
+    private static final int BLOCK = 1 << 16;
+
+    private final double[] data;
+    private final int from;
+    private final int to;
+    private final Stage stage;
+
+    public DoubleParallelStream(double[] data) {
+        this(data, 0, data.length);
+    }
+
+    public DoubleParallelStream(double[] data, int from, int to) {
+        this(data, from, to, null);
+    }
+
+    private DoubleParallelStream(double[] data, int from, int to, Stage stage) {
+        this.data = data;
+        this.from = from;
+        this.to = to;
+        this.stage = stage;
+    }
+
+    public DoubleParallelStream filter(DoubleFilter f) {
+        return then(downstream -> value -> {
+            if (f.accept(value)) {
+                downstream.process(value);
+            }
+        });
+    }
+
+    public DoubleParallelStream map(DoubleToDoubleFunction function) {
+        return then(downstream -> value -> downstream.process(function.value(value)));
+    }
+
+    public int count() {
+        if (stage == null) {
+            return to - from;
+        }
+        int[] counts = new int[blocks()];
+        run(counts.length, (block, from, to) -> {
+            int[] count = new int[1];
+            forEach(from, to, value -> count[0]++);
+            counts[block] = count[0];
+        });
+        int result = 0;
+        for (int count : counts) {
+            result += count;
+        }
+        return result;
+    }
+
+    public int count(DoubleFilter filter) {
+        return filter(filter).count();
+    }
+
+    public double sum() {
+        double[] sums = new double[blocks()];
+        run(sums.length, (block, from, to) -> {
+            if (stage == null) {
+                double sum = 0;
+                for (int i = from; i < to; i++) {
+                    sum += data[i];
+                }
+                sums[block] = sum;
+            } else {
+                double[] sum = new double[1];
+                forEach(from, to, value -> sum[0] += value);
+                sums[block] = sum[0];
+            }
+        });
+        double result = 0;
+        for (double sum : sums) {
+            result += sum;
+        }
+        return result;
+    }
+
+    public double min() {
+        return reduce(Double.POSITIVE_INFINITY, (a, b) -> b < a ? b : a);
+    }
+
+    public double max() {
+        return reduce(Double.NEGATIVE_INFINITY, (a, b) -> b > a ? b : a);
+    }
+
+    /**
+     * Folds every block starting from {@code identity} and then folds the block results; {@code f} must be
+     * associative and {@code identity} neutral for it.
+     */
+    public double reduce(double identity, DoubleDoubleToDoubleFunction f) {
+        double[] results = new double[blocks()];
+        run(results.length, (block, from, to) -> {
+            if (stage == null) {
+                double result = identity;
+                for (int i = from; i < to; i++) {
+                    result = f.value(result, data[i]);
+                }
+                results[block] = result;
+            } else {
+                double[] result = {identity};
+                forEach(from, to, value -> result[0] = f.value(result[0], value));
+                results[block] = result[0];
+            }
+        });
+        double result = identity;
+        for (double value : results) {
+            result = f.value(result, value);
+        }
+        return result;
+    }
+
+    public int[] qty(int bound) {
+        int[][] qties = new int[blocks()][];
+        run(qties.length, (block, from, to) -> {
+            int[] qty = new int[bound];
+            forEach(from, to, value -> qty[(int) value]++);
+            qties[block] = qty;
+        });
+        int[] result = new int[bound];
+        for (int[] qty : qties) {
+            for (int i = 0; i < bound; i++) {
+                result[i] += qty[i];
+            }
+        }
+        return result;
+    }
+
+    public int[] qty() {
+        return qty((int) (max() + 1));
+    }
+
+    /**
+     * Collects the remaining elements in their original order.
+     */
+    public DoubleArray compute() {
+        double[][] parts = new double[blocks()][];
+        int[] sizes = new int[parts.length];
+        run(parts.length, (block, from, to) -> {
+            double[] part = new double[to - from];
+            int[] size = new int[1];
+            forEach(from, to, value -> part[size[0]++] = value);
+            parts[block] = part;
+            sizes[block] = size[0];
+        });
+        int total = 0;
+        for (int size : sizes) {
+            total += size;
+        }
+        double[] result = new double[total];
+        int position = 0;
+        for (int i = 0; i < parts.length; i++) {
+            System.arraycopy(parts[i], 0, result, position, sizes[i]);
+            position += sizes[i];
+        }
+        return new DoubleArray(result);
+    }
+
+    /**
+     * Calls {@code task} for every element, from several threads and in no particular order.
+     */
+    public void forEach(DoubleTask task) {
+        run(blocks(), (block, from, to) -> forEach(from, to, task));
+    }
+
+    private DoubleParallelStream then(Stage next) {
+        Stage previous = stage;
+        return new DoubleParallelStream(data, from, to, previous == null ? next :
+                downstream -> previous.wrap(next.wrap(downstream)));
+    }
+
+    private void forEach(int from, int to, DoubleTask sink) {
+        DoubleTask task = stage == null ? sink : stage.wrap(sink);
+        for (int i = from; i < to; i++) {
+            task.process(data[i]);
+        }
+    }
+
+    private int blocks() {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        if (parallelism <= 1) {
+            return 1;
+        }
+        return Math.max(1, Math.min(4 * parallelism, (to - from + BLOCK - 1) / BLOCK));
+    }
+
+    private void run(int blocks, BlockTask task) {
+        int length = to - from;
+        if (blocks == 1) {
+            task.run(0, from, to);
+            return;
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(blocks);
+        for (int i = 0; i < blocks; i++) {
+            int block = i;
+            tasks.add(ForkJoinTask.adapt(() -> task.run(block, from + (int) ((long) length * block / blocks),
+                    from + (int) ((long) length * (block + 1) / blocks))));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    private interface Stage {
+        DoubleTask wrap(DoubleTask downstream);
+    }
+
+    private interface BlockTask {
+        void run(int block, int from, int to);
+    }
+}
@@ -64,6 +64,14 @@ public interface DoubleStream extends Iterable<Double>, Comparable<DoubleStream>
         return new DoubleArrayList(this);
     }
 
+    /**
+     * Copies the elements into an array and returns a parallel view of it; array-backed lists hand out their own
+     * storage instead.
+     */
+    default public DoubleParallelStream parallel() {
+        return new DoubleParallelStream(compute().toArray());
+    }
+
     default public int compareTo(DoubleStream c) {
         DoubleIterator it = doubleIterator();
         DoubleIterator jt = c.doubleIterator();
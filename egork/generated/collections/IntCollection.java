@@ -39,9 +39,7 @@ public interface IntCollection extends IntStream {
     }
 
     default public IntCollection addAll(IntStream values) {
-        for (IntIterator it = values.intIterator(); it.isValid(); it.advance()) {
-            add(it.value());
-        }
+        values.forEach((int value) -> add(value));
         return this;
     }
 
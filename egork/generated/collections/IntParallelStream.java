@@ -0,0 +1,228 @@
+package template.egork.generated.collections;
+
+import template.egork.generated.collections.function.IntFilter;
+import template.egork.generated.collections.function.IntIntToIntFunction;
+import template.egork.generated.collections.function.IntTask;
+import template.egork.generated.collections.function.IntToIntFunction;
+import template.egork.generated.collections.list.IntArray;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Parallel view of a range of a {@code int[]}, obtained from {@link IntStream#parallel()}. {@code filter} and
+ * {@code map} only record a stage; a terminal operation cuts the range into blocks, pushes every element of a block
+ * through the stages and into a per-block accumulator on the common fork-join pool, then combines the few block results
+ * in order. Functions passed in must be stateless, since they are called from several threads at once.
+ */
+public class IntParallelStream {
+    private static final int BLOCK = 1 << 16;
+
+    private final int[] data;
+    private final int from;
+    private final int to;
+    private final Stage stage;
+
+    public IntParallelStream(int[] data) {
+        this(data, 0, data.length);
+    }
+
+    public IntParallelStream(int[] data, int from, int to) {
+        this(data, from, to, null);
+    }
+
+    private IntParallelStream(int[] data, int from, int to, Stage stage) {
+        this.data = data;
+        this.from = from;
+        this.to = to;
+        this.stage = stage;
+    }
+
+    public IntParallelStream filter(IntFilter f) {
+        return then(downstream -> value -> {
+            if (f.accept(value)) {
+                downstream.process(value);
+            }
+        });
+    }
+
+    public IntParallelStream map(IntToIntFunction function) {
+        return then(downstream -> value -> downstream.process(function.value(value)));
+    }
+
+    public int count() {
+        if (stage == null) {
+            return to - from;
+        }
+        int[] counts = new int[blocks()];
+        run(counts.length, (block, from, to) -> {
+            int[] count = new int[1];
+            forEach(from, to, value -> count[0]++);
+            counts[block] = count[0];
+        });
+        int result = 0;
+        for (int count : counts) {
+            result += count;
+        }
+        return result;
+    }
+
+    public int count(IntFilter filter) {
+        return filter(filter).count();
+    }
+
+    public long sum() {
+        long[] sums = new long[blocks()];
+        run(sums.length, (block, from, to) -> {
+            if (stage == null) {
+                long sum = 0;
+                for (int i = from; i < to; i++) {
+                    sum += data[i];
+                }
+                sums[block] = sum;
+            } else {
+                long[] sum = new long[1];
+                forEach(from, to, value -> sum[0] += value);
+                sums[block] = sum[0];
+            }
+        });
+        long result = 0;
+        for (long sum : sums) {
+            result += sum;
+        }
+        return result;
+    }
+
+    public int min() {
+        return reduce(Integer.MAX_VALUE, (a, b) -> b < a ? b : a);
+    }
+
+    public int max() {
+        return reduce(Integer.MIN_VALUE, (a, b) -> b > a ? b : a);
+    }
+
+    /**
+     * Folds every block starting from {@code identity} and then folds the block results; {@code f} must be
+     * associative and {@code identity} neutral for it.
+     */
+    public int reduce(int identity, IntIntToIntFunction f) {
+        int[] results = new int[blocks()];
+        run(results.length, (block, from, to) -> {
+            if (stage == null) {
+                int result = identity;
+                for (int i = from; i < to; i++) {
+                    result = f.value(result, data[i]);
+                }
+                results[block] = result;
+            } else {
+                int[] result = {identity};
+                forEach(from, to, value -> result[0] = f.value(result[0], value));
+                results[block] = result[0];
+            }
+        });
+        int result = identity;
+        for (int value : results) {
+            result = f.value(result, value);
+        }
+        return result;
+    }
+
+    public int[] qty(int bound) {
+        int[][] qties = new int[blocks()][];
+        run(qties.length, (block, from, to) -> {
+            int[] qty = new int[bound];
+            forEach(from, to, value -> qty[value]++);
+            qties[block] = qty;
+        });
+        int[] result = new int[bound];
+        for (int[] qty : qties) {
+            for (int i = 0; i < bound; i++) {
+                result[i] += qty[i];
+            }
+        }
+        return result;
+    }
+
+    public int[] qty() {
+        return qty(max() + 1);
+    }
+
+    /**
+     * Collects the remaining elements in their original order.
+     */
+    public IntArray compute() {
+        int[][] parts = new int[blocks()][];
+        int[] sizes = new int[parts.length];
+        run(parts.length, (block, from, to) -> {
+            int[] part = new int[to - from];
+            int[] size = new int[1];
+            forEach(from, to, value -> part[size[0]++] = value);
+            parts[block] = part;
+            sizes[block] = size[0];
+        });
+        int total = 0;
+        for (int size : sizes) {
+            total += size;
+        }
+        int[] result = new int[total];
+        int position = 0;
+        for (int i = 0; i < parts.length; i++) {
+            System.arraycopy(parts[i], 0, result, position, sizes[i]);
+            position += sizes[i];
+        }
+        return new IntArray(result);
+    }
+
+    /**
+     * Calls {@code task} for every element, from several threads and in no particular order.
+     */
+    public void forEach(IntTask task) {
+        run(blocks(), (block, from, to) -> forEach(from, to, task));
+    }
+
+    private IntParallelStream then(Stage next) {
+        Stage previous = stage;
+        return new IntParallelStream(data, from, to, previous == null ? next :
+                downstream -> previous.wrap(next.wrap(downstream)));
+    }
+
+    private void forEach(int from, int to, IntTask sink) {
+        IntTask task = stage == null ? sink : stage.wrap(sink);
+        for (int i = from; i < to; i++) {
+            task.process(data[i]);
+        }
+    }
+
+    private int blocks() {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        if (parallelism <= 1) {
+            return 1;
+        }
+        return Math.max(1, Math.min(4 * parallelism, (to - from + BLOCK - 1) / BLOCK));
+    }
+
+    private void run(int blocks, BlockTask task) {
+        int length = to - from;
+        if (blocks == 1) {
+            task.run(0, from, to);
+            return;
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(blocks);
+        for (int i = 0; i < blocks; i++) {
+            int block = i;
+            tasks.add(ForkJoinTask.adapt(() -> task.run(block, from + (int) ((long) length * block / blocks),
+                    from + (int) ((long) length * (block + 1) / blocks))));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    private interface Stage {
+        IntTask wrap(IntTask downstream);
+    }
+
+    private interface BlockTask {
+        void run(int block, int from, int to);
+    }
+}
@@ -3,7 +3,9 @@ package template.egork.generated.collections;
 import template.egork.generated.collections.function.IntToCharFunction;
 import template.egork.generated.collections.comparator.IntComparator;
 import template.egork.generated.collections.function.CharIntToCharFunction;
+import template.egork.generated.collections.function.CharTask;
 import template.egork.generated.collections.function.DoubleIntToDoubleFunction;
+import template.egork.generated.collections.function.DoubleTask;
 import template.egork.generated.collections.function.IntCharToCharFunction;
 import template.egork.generated.collections.function.IntCharToDoubleFunction;
 import template.egork.generated.collections.function.IntCharToIntFunction;
@@ -25,6 +27,7 @@ import template.egork.generated.collections.function.IntTask;
 import template.egork.generated.collections.function.IntToDoubleFunction;
 import template.egork.generated.collections.function.IntToIntFunction;
 import template.egork.generated.collections.function.IntToLongFunction;
+import template.egork.generated.collections.function.LongTask;
 import template.egork.generated.collections.function.LongIntToLongFunction;
 import template.egork.generated.collections.iterator.CharIterator;
 import template.egork.generated.collections.iterator.DoubleIterator;
@@ -64,6 +67,14 @@ public interface IntStream extends Iterable<Integer>, Comparable<IntStream> {
         return new IntArrayList(this);
     }
 
+    /**
+     * Copies the elements into an array and returns a parallel view of it; array-backed lists hand out their own
+     * storage instead.
+     */
+    default public IntParallelStream parallel() {
+        return new IntParallelStream(compute().toArray());
+    }
+
     default public int compareTo(IntStream c) {
         IntIterator it = intIterator();
         IntIterator jt = c.intIterator();
@@ -113,34 +124,33 @@ public interface IntStream extends Iterable<Integer>, Comparable<IntStream> {
     }
 
     default public int count(int value) {
-        int result = 0;
-        for (IntIterator it = intIterator(); it.isValid(); it.advance()) {
-            if (it.value() == value) {
-                result++;
+        int[] result = new int[1];
+        forEach((int current) -> {
+            if (current == value) {
+                result[0]++;
             }
-        }
-        return result;
+        });
+        return result[0];
     }
 
     default public int count(IntFilter filter) {
-        int result = 0;
-        for (IntIterator it = intIterator(); it.isValid(); it.advance()) {
-            if (filter.accept(it.value())) {
-                result++;
+        int[] result = new int[1];
+        forEach((int current) -> {
+            if (filter.accept(current)) {
+                result[0]++;
             }
-        }
-        return result;
+        });
+        return result[0];
     }
 
     default public int min() {
-        int result = Integer.MAX_VALUE;
-        for (IntIterator it = intIterator(); it.isValid(); it.advance()) {
-            int current = it.value();
-            if (current < result) {
-                result = current;
+        int[] result = {Integer.MAX_VALUE};
+        forEach((int current) -> {
+            if (current < result[0]) {
+                result[0] = current;
             }
-        }
-        return result;
+        });
+        return result[0];
     }
 
     default public int min(IntComparator comparator) {
@@ -155,14 +165,13 @@ public interface IntStream extends Iterable<Integer>, Comparable<IntStream> {
     }
 
     default public int max() {
-        int result = Integer.MIN_VALUE;
-        for (IntIterator it = intIterator(); it.isValid(); it.advance()) {
-            int current = it.value();
-            if (current > result) {
-                result = current;
+        int[] result = {Integer.MIN_VALUE};
+        forEach((int current) -> {
+            if (current > result[0]) {
+                result[0] = current;
             }
-        }
-        return result;
+        });
+        return result[0];
     }
 
     default public int max(IntComparator comparator) {
@@ -177,18 +186,14 @@ public interface IntStream extends Iterable<Integer>, Comparable<IntStream> {
     }
 
     default public long sum() {
-        long result = 0;
-        for (IntIterator it = intIterator(); it.isValid(); it.advance()) {
-            result += it.value();
-        }
-        return result;
+        long[] result = new long[1];
+        forEach((int current) -> result[0] += current);
+        return result[0];
     }
 
     default public int[] qty(int bound) {
         int[] result = new int[bound];
-        for (IntIterator it = intIterator(); it.isValid(); it.advance()) {
-            result[(int) it.value()]++;
-        }
+        forEach((int current) -> result[current]++);
         return result;
     }
 
@@ -236,190 +241,245 @@ public interface IntStream extends Iterable<Integer>, Comparable<IntStream> {
     }
 
     default public double reduce(double initial, DoubleIntToDoubleFunction f) {
-        for (IntIterator it = intIterator(); it.isValid(); it.advance()) {
-            initial = f.value(initial, it.value());
-        }
-        return initial;
+        double[] result = {initial};
+        forEach((int current) -> result[0] = f.value(result[0], current));
+        return result[0];
     }
 
     default public int reduce(int initial, IntIntToIntFunction f) {
-        for (IntIterator it = intIterator(); it.isValid(); it.advance()) {
-            initial = f.value(initial, it.value());
-        }
-        return initial;
+        int[] result = {initial};
+        forEach((int current) -> result[0] = f.value(result[0], current));
+        return result[0];
     }
 
     default public long reduce(long initial, LongIntToLongFunction f) {
-        for (IntIterator it = intIterator(); it.isValid(); it.advance()) {
-            initial = f.value(initial, it.value());
-        }
-        return initial;
+        long[] result = {initial};
+        forEach((int current) -> result[0] = f.value(result[0], current));
+        return result[0];
     }
 
     default public char reduce(char initial, CharIntToCharFunction f) {
-        for (IntIterator it = intIterator(); it.isValid(); it.advance()) {
-            initial = f.value(initial, it.value());
-        }
-        return initial;
+        char[] result = {initial};
+        forEach((int current) -> result[0] = f.value(result[0], current));
+        return result[0];
     }
 
     //views
     default public IntStream union(IntStream other) {
-        return () -> new IntIterator() {
-            private IntIterator first = IntStream.this.intIterator();
-            private IntIterator second;
+        return new IntStream() {
+            public IntIterator intIterator() {
+                return new IntIterator() {
+                    private IntIterator first = IntStream.this.intIterator();
+                    private IntIterator second;
+
+                    {
+                        if (!first.isValid()) {
+                            second = other.intIterator();
+                        }
+                    }
 
-            public int value() throws NoSuchElementException {
-                if (first.isValid()) {
-                    return first.value();
-                }
-                return second.value();
-            }
+                    public int value() throws NoSuchElementException {
+                        if (first.isValid()) {
+                            return first.value();
+                        }
+                        return second.value();
+                    }
 
-            public boolean advance() throws NoSuchElementException {
-                if (first.isValid()) {
-                    first.advance();
-                    if (!first.isValid()) {
-                        second = other.intIterator();
+                    public boolean advance() throws NoSuchElementException {
+                        if (first.isValid()) {
+                            first.advance();
+                            if (!first.isValid()) {
+                                second = other.intIterator();
+                            }
+                            return isValid();
+                        } else {
+                            return second.advance();
+                        }
                     }
-                    return second.isValid();
-                } else {
-                    return second.advance();
-                }
-            }
 
-            public boolean isValid() {
-                return first.isValid() || second.isValid();
+                    public boolean isValid() {
+                        return first.isValid() || second.isValid();
+                    }
+
+                    public void remove() {
+                        if (first.isValid()) {
+                            first.remove();
+                        } else {
+                            second.remove();
+                        }
+                    }
+                };
             }
 
-            public void remove() {
-                if (first.isValid()) {
-                    first.remove();
-                } else {
-                    second.remove();
-                }
+            public void forEach(IntTask task) {
+                IntStream.this.forEach(task);
+                other.forEach(task);
             }
         };
     }
 
     default public IntStream filter(IntFilter f) {
-        return () -> new IntIterator() {
-            private IntIterator it = IntStream.this.intIterator();
+        return new IntStream() {
+            public IntIterator intIterator() {
+                return new IntIterator() {
+                    private IntIterator it = IntStream.this.intIterator();
 
-            {
-                next();
-            }
+                    {
+                        next();
+                    }
 
-            private void next() {
-                while (it.isValid() && !f.accept(it.value())) {
-                    it.advance();
-                }
-            }
+                    private void next() {
+                        while (it.isValid() && !f.accept(it.value())) {
+                            it.advance();
+                        }
+                    }
 
-            public int value() {
-                return it.value();
-            }
+                    public int value() {
+                        return it.value();
+                    }
 
-            public boolean advance() {
-                it.advance();
-                next();
-                return isValid();
-            }
+                    public boolean advance() {
+                        it.advance();
+                        next();
+                        return isValid();
+                    }
 
-            public boolean isValid() {
-                return it.isValid();
+                    public boolean isValid() {
+                        return it.isValid();
+                    }
+
+                    public void remove() {
+                        it.remove();
+                    }
+                };
             }
 
-            public void remove() {
-                it.remove();
+            public void forEach(IntTask task) {
+                IntStream.this.forEach((int value) -> {
+                    if (f.accept(value)) {
+                        task.process(value);
+                    }
+                });
             }
         };
     }
 
     default public DoubleStream map(IntToDoubleFunction function) {
-        return () -> new DoubleIterator() {
-            private IntIterator it = IntStream.this.intIterator();
+        return new DoubleStream() {
+            public DoubleIterator doubleIterator() {
+                return new DoubleIterator() {
+                    private IntIterator it = IntStream.this.intIterator();
 
-            public double value() {
-                return function.value(it.value());
-            }
+                    public double value() {
+                        return function.value(it.value());
+                    }
 
-            public boolean advance() {
-                return it.advance();
-            }
+                    public boolean advance() {
+                        return it.advance();
+                    }
 
-            public boolean isValid() {
-                return it.isValid();
+                    public boolean isValid() {
+                        return it.isValid();
+                    }
+
+                    public void remove() {
+                        it.remove();
+                    }
+                };
             }
 
-            public void remove() {
-                it.remove();
+            public void forEach(DoubleTask task) {
+                IntStream.this.forEach((int value) -> task.process(function.value(value)));
             }
         };
     }
 
     default public IntStream map(IntToIntFunction function) {
-        return () -> new IntIterator() {
-            private IntIterator it = IntStream.this.intIterator();
+        return new IntStream() {
+            public IntIterator intIterator() {
+                return new IntIterator() {
+                    private IntIterator it = IntStream.this.intIterator();
 
-            public int value() {
-                return function.value(it.value());
-            }
+                    public int value() {
+                        return function.value(it.value());
+                    }
 
-            public boolean advance() {
-                return it.advance();
-            }
+                    public boolean advance() {
+                        return it.advance();
+                    }
 
-            public boolean isValid() {
-                return it.isValid();
+                    public boolean isValid() {
+                        return it.isValid();
+                    }
+
+                    public void remove() {
+                        it.remove();
+                    }
+                };
             }
 
-            public void remove() {
-                it.remove();
+            public void forEach(IntTask task) {
+                IntStream.this.forEach((int value) -> task.process(function.value(value)));
             }
         };
     }
 
     default public LongStream map(IntToLongFunction function) {
-        return () -> new LongIterator() {
-            private IntIterator it = IntStream.this.intIterator();
+        return new LongStream() {
+            public LongIterator longIterator() {
+                return new LongIterator() {
+                    private IntIterator it = IntStream.this.intIterator();
 
-            public long value() {
-                return function.value(it.value());
-            }
+                    public long value() {
+                        return function.value(it.value());
+                    }
 
-            public boolean advance() {
-                return it.advance();
-            }
+                    public boolean advance() {
+                        return it.advance();
+                    }
 
-            public boolean isValid() {
-                return it.isValid();
+                    public boolean isValid() {
+                        return it.isValid();
+                    }
+
+                    public void remove() {
+                        it.remove();
+                    }
+                };
             }
 
-            public void remove() {
-                it.remove();
+            public void forEach(LongTask task) {
+                IntStream.this.forEach((int value) -> task.process(function.value(value)));
             }
         };
     }
 
     default public CharStream map(IntToCharFunction function) {
-        return () -> new CharIterator() {
-            private IntIterator it = IntStream.this.intIterator();
+        return new CharStream() {
+            public CharIterator charIterator() {
+                return new CharIterator() {
+                    private IntIterator it = IntStream.this.intIterator();
 
-            public char value() {
-                return function.value(it.value());
-            }
+                    public char value() {
+                        return function.value(it.value());
+                    }
 
-            public boolean advance() {
-                return it.advance();
-            }
+                    public boolean advance() {
+                        return it.advance();
+                    }
 
-            public boolean isValid() {
-                return it.isValid();
+                    public boolean isValid() {
+                        return it.isValid();
+                    }
+
+                    public void remove() {
+                        it.remove();
+                    }
+                };
             }
 
-            public void remove() {
-                it.remove();
+            public void forEach(CharTask task) {
+                IntStream.this.forEach((int value) -> task.process(function.value(value)));
             }
         };
     }
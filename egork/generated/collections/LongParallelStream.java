@@ -0,0 +1,228 @@
+package template.egork.generated.collections;
+
+import template.egork.generated.collections.function.LongFilter;
+import template.egork.generated.collections.function.LongLongToLongFunction;
+import template.egork.generated.collections.function.LongTask;
+import template.egork.generated.collections.function.LongToLongFunction;
+import template.egork.generated.collections.list.LongArray;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Parallel view of a range of a {@code long[]}, obtained from {@link LongStream#parallel()}. {@code filter} and
+ * {@code map} only record a stage; a terminal operation cuts the range into blocks, pushes every element of a block
+ * through the stages and into a per-block accumulator on the common fork-join pool, then combines the few block results
+ * in order. Functions passed in must be stateless, since they are called from several threads at once.
+ */
+public class LongParallelStream {
+    private static final int BLOCK = 1 << 16;
+
+    private final long[] data;
+    private final int from;
+    private final int to;
+    private final Stage stage;
+
+    public LongParallelStream(long[] data) {
+        this(data, 0, data.length);
+    }
+
+    public LongParallelStream(long[] data, int from, int to) {
+        this(data, from, to, null);
+    }
+
+    private LongParallelStream(long[] data, int from, int to, Stage stage) {
+        this.data = data;
+        this.from = from;
+        this.to = to;
+        this.stage = stage;
+    }
+
+    public LongParallelStream filter(LongFilter f) {
+        return then(downstream -> value -> {
+            if (f.accept(value)) {
+                downstream.process(value);
+            }
+        });
+    }
+
+    public LongParallelStream map(LongToLongFunction function) {
+        return then(downstream -> value -> downstream.process(function.value(value)));
+    }
+
+    public int count() {
+        if (stage == null) {
+            return to - from;
+        }
+        int[] counts = new int[blocks()];
+        run(counts.length, (block, from, to) -> {
+            int[] count = new int[1];
+            forEach(from, to, value -> count[0]++);
+            counts[block] = count[0];
+        });
+        int result = 0;
+        for (int count : counts) {
+            result += count;
+        }
+        return result;
+    }
+
+    public int count(LongFilter filter) {
+        return filter(filter).count();
+    }
+
+    public long sum() {
+        long[] sums = new long[blocks()];
+        run(sums.length, (block, from, to) -> {
+            if (stage == null) {
+                long sum = 0;
+                for (int i = from; i < to; i++) {
+                    sum += data[i];
+                }
+                sums[block] = sum;
+            } else {
+                long[] sum = new long[1];
+                forEach(from, to, value -> sum[0] += value);
+                sums[block] = sum[0];
+            }
+        });
+        long result = 0;
+        for (long sum : sums) {
+            result += sum;
+        }
+        return result;
+    }
+
+    public long min() {
+        return reduce(Long.MAX_VALUE, (a, b) -> b < a ? b : a);
+    }
+
+    public long max() {
+        return reduce(Long.MIN_VALUE, (a, b) -> b > a ? b : a);
+    }
+
+    /**
+     * Folds every block starting from {@code identity} and then folds the block results; {@code f} must be
+     * associative and {@code identity} neutral for it.
+     */
+    public long reduce(long identity, LongLongToLongFunction f) {
+        long[] results = new long[blocks()];
+        run(results.length, (block, from, to) -> {
+            if (stage == null) {
+                long result = identity;
+                for (int i = from; i < to; i++) {
+                    result = f.value(result, data[i]);
+                }
+                results[block] = result;
+            } else {
+                long[] result = {identity};
+                forEach(from, to, value -> result[0] = f.value(result[0], value));
+                results[block] = result[0];
+            }
+        });
+        long result = identity;
+        for (long value : results) {
+            result = f.value(result, value);
+        }
+        return result;
+    }
+
+    public int[] qty(int bound) {
+        int[][] qties = new int[blocks()][];
+        run(qties.length, (block, from, to) -> {
+            int[] qty = new int[bound];
+            forEach(from, to, value -> qty[(int) value]++);
+            qties[block] = qty;
+        });
+        int[] result = new int[bound];
+        for (int[] qty : qties) {
+            for (int i = 0; i < bound; i++) {
+                result[i] += qty[i];
+            }
+        }
+        return result;
+    }
+
+    public int[] qty() {
+        return qty((int) (max() + 1));
+    }
+
+    /**
+     * Collects the remaining elements in their original order.
+     */
+    public LongArray compute() {
+        long[][] parts = new long[blocks()][];
+        int[] sizes = new int[parts.length];
+        run(parts.length, (block, from, to) -> {
+            long[] part = new long[to - from];
+            int[] size = new int[1];
+            forEach(from, to, value -> part[size[0]++] = value);
+            parts[block] = part;
+            sizes[block] = size[0];
+        });
+        int total = 0;
+        for (int size : sizes) {
+            total += size;
+        }
+        long[] result = new long[total];
+        int position = 0;
+        for (int i = 0; i < parts.length; i++) {
+            System.arraycopy(parts[i], 0, result, position, sizes[i]);
+            position += sizes[i];
+        }
+        return new LongArray(result);
+    }
+
+    /**
+     * Calls {@code task} for every element, from several threads and in no particular order.
+     */
+    public void forEach(LongTask task) {
+        run(blocks(), (block, from, to) -> forEach(from, to, task));
+    }
+
+    private LongParallelStream then(Stage next) {
+        Stage previous = stage;
+        return new LongParallelStream(data, from, to, previous == null ? next :
+                downstream -> previous.wrap(next.wrap(downstream)));
+    }
+
+    private void forEach(int from, int to, LongTask sink) {
+        LongTask task = stage == null ? sink : stage.wrap(sink);
+        for (int i = from; i < to; i++) {
+            task.process(data[i]);
+        }
+    }
+
+    private int blocks() {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        if (parallelism <= 1) {
+            return 1;
+        }
+        return Math.max(1, Math.min(4 * parallelism, (to - from + BLOCK - 1) / BLOCK));
+    }
+
+    private void run(int blocks, BlockTask task) {
+        int length = to - from;
+        if (blocks == 1) {
+            task.run(0, from, to);
+            return;
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(blocks);
+        for (int i = 0; i < blocks; i++) {
+            int block = i;
+            tasks.add(ForkJoinTask.adapt(() -> task.run(block, from + (int) ((long) length * block / blocks),
+                    from + (int) ((long) length * (block + 1) / blocks))));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    private interface Stage {
+        LongTask wrap(LongTask downstream);
+    }
+
+    private interface BlockTask {
+        void run(int block, int from, int to);
+    }
+}
@@ -64,6 +64,14 @@ public interface LongStream extends Iterable<Long>, Comparable<LongStream> {
         return new LongArrayList(this);
     }
 
+    /**
+     * Copies the elements into an array and returns a parallel view of it; array-backed lists hand out their own
+     * storage instead.
+     */
+    default public LongParallelStream parallel() {
+        return new LongParallelStream(compute().toArray());
+    }
+
     default public int compareTo(LongStream c) {
         LongIterator it = longIterator();
         LongIterator jt = c.longIterator();
@@ -1,9 +1,10 @@
 package template.egork.generated.collections.list;
 
 import template.egork.generated.collections.CharAbstractStream;
+import template.egork.generated.collections.CharParallelStream;
 
 public class CharArray extends CharAbstractStream implements CharList {
-    private char[] data;
+    char[] data;
 
     public CharArray(char[] arr) {
         data = arr;
@@ -28,4 +29,9 @@ public class CharArray extends CharAbstractStream implements CharList {
     public void set(int index, char value) {
         data[index] = value;
     }
+
+    @Override
+    public CharParallelStream parallel() {
+        return new CharParallelStream(data, 0, data.length);
+    }
 }
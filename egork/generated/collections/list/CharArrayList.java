@@ -1,6 +1,7 @@
 package template.egork.generated.collections.list;
 
 import template.egork.generated.collections.CharAbstractStream;
+import template.egork.generated.collections.CharParallelStream;
 import template.egork.generated.collections.CharCollection;
 import template.egork.generated.collections.CharStream;
 
@@ -60,6 +61,26 @@ public class CharArrayList extends CharAbstractStream implements CharList {
         data = Arrays.copyOf(data, capacity);
     }
 
+    public CharCollection addAll(CharStream values) {
+        if (values instanceof CharArrayList) {
+            CharArrayList list = (CharArrayList) values;
+            addAll(list.data, list.size);
+            return this;
+        }
+        if (values instanceof CharArray) {
+            CharArray array = (CharArray) values;
+            addAll(array.data, array.data.length);
+            return this;
+        }
+        return CharList.super.addAll(values);
+    }
+
+    private void addAll(char[] values, int length) {
+        ensureCapacity(size + length);
+        System.arraycopy(values, 0, data, size, length);
+        size += length;
+    }
+
     public void addAt(int index, char value) {
         ensureCapacity(size + 1);
         if (index > size || index < 0) {
@@ -88,4 +109,9 @@ public class CharArrayList extends CharAbstractStream implements CharList {
         }
         data[index] = value;
     }
+
+    @Override
+    public CharParallelStream parallel() {
+        return new CharParallelStream(data, 0, size);
+    }
 }
@@ -1,9 +1,11 @@
 package template.egork.generated.collections.list;
 
 import template.egork.generated.collections.DoubleAbstractStream;
+import template.egork.generated.collections.DoubleParallelStream;
+import template.egork.generated.collections.comparator.DoubleComparator;
 
 public class DoubleArray extends DoubleAbstractStream implements DoubleList {
-    private double[] data;
+    double[] data;
 
     public DoubleArray(double[] arr) {
         data = arr;
@@ -28,4 +30,18 @@ public class DoubleArray extends DoubleAbstractStream implements DoubleList {
     public void set(int index, double value) {
         data[index] = value;
     }
+
+    @Override
+    public DoubleList sort(DoubleComparator comparator) {
+        if (comparator == DoubleComparator.DEFAULT) {
+            Sorter.radixSort(data, 0, data.length);
+            return this;
+        }
+        return DoubleList.super.sort(comparator);
+    }
+
+    @Override
+    public DoubleParallelStream parallel() {
+        return new DoubleParallelStream(data, 0, data.length);
+    }
 }
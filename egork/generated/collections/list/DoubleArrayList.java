@@ -1,8 +1,10 @@
 package template.egork.generated.collections.list;
 
 import template.egork.generated.collections.DoubleAbstractStream;
+import template.egork.generated.collections.DoubleParallelStream;
 import template.egork.generated.collections.DoubleCollection;
 import template.egork.generated.collections.DoubleStream;
+import template.egork.generated.collections.comparator.DoubleComparator;
 
 import java.util.Arrays;
 
@@ -60,6 +62,26 @@ public class DoubleArrayList extends DoubleAbstractStream implements DoubleList
         data = Arrays.copyOf(data, capacity);
     }
 
+    public DoubleCollection addAll(DoubleStream values) {
+        if (values instanceof DoubleArrayList) {
+            DoubleArrayList list = (DoubleArrayList) values;
+            addAll(list.data, list.size);
+            return this;
+        }
+        if (values instanceof DoubleArray) {
+            DoubleArray array = (DoubleArray) values;
+            addAll(array.data, array.data.length);
+            return this;
+        }
+        return DoubleList.super.addAll(values);
+    }
+
+    private void addAll(double[] values, int length) {
+        ensureCapacity(size + length);
+        System.arraycopy(values, 0, data, size, length);
+        size += length;
+    }
+
     public void addAt(int index, double value) {
         ensureCapacity(size + 1);
         if (index > size || index < 0) {
@@ -88,4 +110,18 @@ public class DoubleArrayList extends DoubleAbstractStream implements DoubleList
         }
         data[index] = value;
     }
+
+    @Override
+    public DoubleList sort(DoubleComparator comparator) {
+        if (comparator == DoubleComparator.DEFAULT) {
+            Sorter.radixSort(data, 0, size);
+            return this;
+        }
+        return DoubleList.super.sort(comparator);
+    }
+
+    @Override
+    public DoubleParallelStream parallel() {
+        return new DoubleParallelStream(data, 0, size);
+    }
 }
@@ -1,9 +1,12 @@
 package template.egork.generated.collections.list;
 
 import template.egork.generated.collections.IntAbstractStream;
+import template.egork.generated.collections.IntParallelStream;
+import template.egork.generated.collections.comparator.IntComparator;
+import template.egork.generated.collections.function.IntTask;
 
 public class IntArray extends IntAbstractStream implements IntList {
-    private int[] data;
+    int[] data;
 
     public IntArray(int[] arr) {
         data = arr;
@@ -28,4 +31,26 @@ public class IntArray extends IntAbstractStream implements IntList {
     public void set(int index, int value) {
         data[index] = value;
     }
+
+    @Override
+    public IntList sort(IntComparator comparator) {
+        if (comparator == IntComparator.DEFAULT) {
+            Sorter.radixSort(data, 0, data.length);
+            return this;
+        }
+        return IntList.super.sort(comparator);
+    }
+
+    @Override
+    public void forEach(IntTask task) {
+        int[] data = this.data;
+        for (int i = 0, size = data.length; i < size; i++) {
+            task.process(data[i]);
+        }
+    }
+
+    @Override
+    public IntParallelStream parallel() {
+        return new IntParallelStream(data, 0, data.length);
+    }
 }
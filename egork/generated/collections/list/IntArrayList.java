@@ -2,7 +2,10 @@ package template.egork.generated.collections.list;
 
 import template.egork.generated.collections.IntStream;
 import template.egork.generated.collections.IntAbstractStream;
+import template.egork.generated.collections.IntParallelStream;
 import template.egork.generated.collections.IntCollection;
+import template.egork.generated.collections.comparator.IntComparator;
+import template.egork.generated.collections.function.IntTask;
 
 import java.util.Arrays;
 
@@ -60,6 +63,26 @@ public class IntArrayList extends IntAbstractStream implements IntList {
         data = Arrays.copyOf(data, capacity);
     }
 
+    public IntCollection addAll(IntStream values) {
+        if (values instanceof IntArrayList) {
+            IntArrayList list = (IntArrayList) values;
+            addAll(list.data, list.size);
+            return this;
+        }
+        if (values instanceof IntArray) {
+            IntArray array = (IntArray) values;
+            addAll(array.data, array.data.length);
+            return this;
+        }
+        return IntList.super.addAll(values);
+    }
+
+    private void addAll(int[] values, int length) {
+        ensureCapacity(size + length);
+        System.arraycopy(values, 0, data, size, length);
+        size += length;
+    }
+
     public void addAt(int index, int value) {
         ensureCapacity(size + 1);
         if (index > size || index < 0) {
@@ -88,4 +111,32 @@ public class IntArrayList extends IntAbstractStream implements IntList {
         }
         data[index] = value;
     }
+
+    @Override
+    public IntList sort(IntComparator comparator) {
+        if (comparator == IntComparator.DEFAULT) {
+            Sorter.radixSort(data, 0, size);
+            return this;
+        }
+        return IntList.super.sort(comparator);
+    }
+
+    @Override
+    public void add(int value) {
+        ensureCapacity(size + 1);
+        data[size++] = value;
+    }
+
+    @Override
+    public void forEach(IntTask task) {
+        int[] data = this.data;
+        for (int i = 0, size = this.size; i < size; i++) {
+            task.process(data[i]);
+        }
+    }
+
+    @Override
+    public IntParallelStream parallel() {
+        return new IntParallelStream(data, 0, size);
+    }
 }
@@ -1,9 +1,11 @@
 package template.egork.generated.collections.list;
 
 import template.egork.generated.collections.LongAbstractStream;
+import template.egork.generated.collections.LongParallelStream;
+import template.egork.generated.collections.comparator.LongComparator;
 
 public class LongArray extends LongAbstractStream implements LongList {
-    private long[] data;
+    long[] data;
 
     public LongArray(long[] arr) {
         data = arr;
@@ -28,4 +30,18 @@ public class LongArray extends LongAbstractStream implements LongList {
     public void set(int index, long value) {
         data[index] = value;
     }
+
+    @Override
+    public LongList sort(LongComparator comparator) {
+        if (comparator == LongComparator.DEFAULT) {
+            Sorter.radixSort(data, 0, data.length);
+            return this;
+        }
+        return LongList.super.sort(comparator);
+    }
+
+    @Override
+    public LongParallelStream parallel() {
+        return new LongParallelStream(data, 0, data.length);
+    }
 }
@@ -1,8 +1,10 @@
 package template.egork.generated.collections.list;
 
 import template.egork.generated.collections.LongAbstractStream;
+import template.egork.generated.collections.LongParallelStream;
 import template.egork.generated.collections.LongCollection;
 import template.egork.generated.collections.LongStream;
+import template.egork.generated.collections.comparator.LongComparator;
 
 import java.util.Arrays;
 
@@ -60,6 +62,26 @@ public class LongArrayList extends LongAbstractStream implements LongList {
         data = Arrays.copyOf(data, capacity);
     }
 
+    public LongCollection addAll(LongStream values) {
+        if (values instanceof LongArrayList) {
+            LongArrayList list = (LongArrayList) values;
+            addAll(list.data, list.size);
+            return this;
+        }
+        if (values instanceof LongArray) {
+            LongArray array = (LongArray) values;
+            addAll(array.data, array.data.length);
+            return this;
+        }
+        return LongList.super.addAll(values);
+    }
+
+    private void addAll(long[] values, int length) {
+        ensureCapacity(size + length);
+        System.arraycopy(values, 0, data, size, length);
+        size += length;
+    }
+
     public void addAt(int index, long value) {
         ensureCapacity(size + 1);
         if (index > size || index < 0) {
@@ -88,4 +110,18 @@ public class LongArrayList extends LongAbstractStream implements LongList {
         }
         data[index] = value;
     }
+
+    @Override
+    public LongList sort(LongComparator comparator) {
+        if (comparator == LongComparator.DEFAULT) {
+            Sorter.radixSort(data, 0, size);
+            return this;
+        }
+        return LongList.super.sort(comparator);
+    }
+
+    @Override
+    public LongParallelStream parallel() {
+        return new LongParallelStream(data, 0, size);
+    }
 }
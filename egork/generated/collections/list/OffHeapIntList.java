@@ -0,0 +1,193 @@
+package template.egork.generated.collections.list;
+
+import template.egork.generated.collections.IntAbstractStream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * {@link IntList} stored outside the Java heap, so it adds nothing to the work of the garbage collector however large
+ * it grows. Elements live in native-order {@link ByteBuffer} chunks of {@code 2^30} bytes; a list that still fits into
+ * its first chunk grows it by doubling, later chunks are allocated whole. Indices are {@code long} in the
+ * {@code get(long)}/{@code set(long, ...)} family; the {@code int} methods of {@link IntList} address the first
+ * {@code 2^31 - 1} elements.
+ *
+ * The list owns its memory until {@link #close()}; it must not be used afterwards. A list created with
+ * {@link #mapped(String)} keeps its elements in a file: existing content is loaded as the initial elements, and on
+ * close the file is cut to exactly {@code size} values in native byte order.
+ */
+public class OffHeapIntList extends IntAbstractStream implements IntList, AutoCloseable {
+    private static final int ELEMENT_SHIFT = 2;
+    private static final int CHUNK_SHIFT = 30 - ELEMENT_SHIFT;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    private final FileChannel channel;
+    private ByteBuffer[] chunks = new ByteBuffer[1];
+    private int chunkCount;
+    private long capacity;
+    private long size;
+
+    public OffHeapIntList() {
+        this(16);
+    }
+
+    public OffHeapIntList(long capacity) {
+        channel = null;
+        ensureCapacity(Math.max(capacity, 16));
+    }
+
+    private OffHeapIntList(FileChannel channel) {
+        this.channel = channel;
+        try {
+            size = channel.size() >> ELEMENT_SHIFT;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        ensureCapacity(Math.max(size, 1));
+    }
+
+    /**
+     * Opens or creates a file-backed list.
+     */
+    public static OffHeapIntList mapped(String fileName) {
+        try {
+            return new OffHeapIntList(FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public int size() {
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    public long longSize() {
+        return size;
+    }
+
+    public int get(int index) {
+        return get((long) index);
+    }
+
+    public int get(long index) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("at = " + index + ", size = " + size);
+        }
+        return chunks[(int) (index >>> CHUNK_SHIFT)].getInt((int) (index & CHUNK_MASK) << ELEMENT_SHIFT);
+    }
+
+    public void set(int index, int value) {
+        set((long) index, value);
+    }
+
+    public void set(long index, int value) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("at = " + index + ", size = " + size);
+        }
+        chunks[(int) (index >>> CHUNK_SHIFT)].putInt((int) (index & CHUNK_MASK) << ELEMENT_SHIFT, value);
+    }
+
+    @Override
+    public void add(int value) {
+        ensureCapacity(size + 1);
+        chunks[(int) (size >>> CHUNK_SHIFT)].putInt((int) (size & CHUNK_MASK) << ELEMENT_SHIFT, value);
+        size++;
+    }
+
+    public void addAt(int index, int value) {
+        if (index > size || index < 0) {
+            throw new IndexOutOfBoundsException("at = " + index + ", size = " + size);
+        }
+        add(value);
+        for (long i = size - 1; i > index; i--) {
+            set(i, get(i - 1));
+        }
+        set(index, value);
+    }
+
+    public void removeAt(int index) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("at = " + index + ", size = " + size);
+        }
+        for (long i = index; i < size - 1; i++) {
+            set(i, get(i + 1));
+        }
+        size--;
+    }
+
+    @Override
+    public void popLast() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("List is empty");
+        }
+        size--;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Releases the memory, or writes back and closes the file of a mapped list.
+     */
+    @Override
+    public void close() {
+        if (chunks == null) {
+            return;
+        }
+        if (channel != null) {
+            for (int i = 0; i < chunkCount; i++) {
+                ((MappedByteBuffer) chunks[i]).force();
+            }
+        }
+        OffHeapMemory.free(chunks, chunkCount, channel, size << ELEMENT_SHIFT);
+        chunks = null;
+        chunkCount = 0;
+        capacity = 0;
+        size = 0;
+    }
+
+    private void ensureCapacity(long required) {
+        if (required <= capacity) {
+            return;
+        }
+        long chunkSize = 1L << CHUNK_SHIFT;
+        if (channel == null && required < chunkSize) {
+            long newCapacity = Math.max(required, Math.min(2 * capacity, chunkSize));
+            ByteBuffer grown = OffHeapMemory.allocateDirect((int) newCapacity << ELEMENT_SHIFT);
+            if (chunkCount != 0) {
+                ByteBuffer old = chunks[0].duplicate();
+                old.position(0).limit((int) (size << ELEMENT_SHIFT));
+                grown.put(old);
+                OffHeapMemory.free(chunks, 1, null, 0);
+            }
+            chunks[0] = grown;
+            chunkCount = 1;
+            capacity = newCapacity;
+            return;
+        }
+        if (chunkCount == 1 && capacity < chunkSize) {
+            ByteBuffer full = OffHeapMemory.allocate(channel, 0);
+            ByteBuffer old = chunks[0].duplicate();
+            old.position(0).limit((int) (size << ELEMENT_SHIFT));
+            full.put(old);
+            OffHeapMemory.free(chunks, 1, null, 0);
+            chunks[0] = full;
+            capacity = chunkSize;
+        }
+        while (capacity < required) {
+            if (chunkCount == chunks.length) {
+                chunks = Arrays.copyOf(chunks, 2 * chunkCount);
+            }
+            chunks[chunkCount] = OffHeapMemory.allocate(channel, (long) chunkCount << 30);
+            chunkCount++;
+            capacity += chunkSize;
+        }
+    }
+}
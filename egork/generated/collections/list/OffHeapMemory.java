@@ -0,0 +1,75 @@
+package template.egork.generated.collections.list;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * Chunks of memory outside the Java heap for the off-heap lists: direct buffers, or windows of a file mapped for
+ * writing. Chunks are released eagerly on {@link #free}, so the native memory does not wait for a garbage collection
+ * that an almost empty heap may never trigger.
+ */
+class OffHeapMemory {
+    static final int CHUNK_BYTES = 1 << 30;
+
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private OffHeapMemory() {
+    }
+
+    static ByteBuffer allocateDirect(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    static ByteBuffer allocate(FileChannel channel, long offset) {
+        if (channel == null) {
+            return allocateDirect(CHUNK_BYTES);
+        }
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, offset, CHUNK_BYTES).order(ByteOrder.nativeOrder());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    static void free(ByteBuffer[] chunks, int count, FileChannel channel, long bytes) {
+        for (int i = 0; i < count; i++) {
+            if (INVOKE_CLEANER != null) {
+                try {
+                    INVOKE_CLEANER.invoke(UNSAFE, chunks[i]);
+                } catch (ReflectiveOperationException ignored) {
+                }
+            }
+            chunks[i] = null;
+        }
+        if (channel != null) {
+            try {
+                channel.truncate(bytes);
+                channel.close();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
@@ -5,8 +5,16 @@ import template.egork.generated.collections.comparator.DoubleComparator;
 import template.egork.generated.collections.comparator.IntComparator;
 import template.egork.generated.collections.comparator.LongComparator;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
 public class Sorter {
     private static final int INSERTION_THRESHOLD = 16;
+    private static final int RADIX_THRESHOLD = 1 << 10;
+    public static final int PARALLEL_RADIX_THRESHOLD = 1 << 21;
 
     private Sorter() {
     }
@@ -330,4 +338,372 @@ public class Sorter {
             }
         }
     }
+
+    /**
+     * Sorts {@code array[from..to)} ascending with an LSD radix sort over bytes; passes in which all elements share the
+     * byte are skipped. Large ranges are sorted with {@link #parallelRadixSort(int[], int, int)} when the common pool
+     * has more than one worker.
+     */
+    public static void radixSort(int[] array, int from, int to) {
+        int length = to - from;
+        if (length < RADIX_THRESHOLD) {
+            Arrays.sort(array, from, to);
+            return;
+        }
+        if (length >= PARALLEL_RADIX_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            parallelRadixSort(array, from, to);
+            return;
+        }
+        int[][] counts = new int[4][256];
+        for (int i = from; i < to; i++) {
+            int key = array[i] ^ Integer.MIN_VALUE;
+            counts[0][key & 0xFF]++;
+            counts[1][(key >>> 8) & 0xFF]++;
+            counts[2][(key >>> 16) & 0xFF]++;
+            counts[3][key >>> 24]++;
+        }
+        int[] source = array;
+        int[] target = new int[length];
+        int sourceFrom = from;
+        int targetFrom = 0;
+        for (int pass = 0; pass < 4; pass++) {
+            int shift = pass << 3;
+            int[] count = counts[pass];
+            if (count[((source[sourceFrom] ^ Integer.MIN_VALUE) >>> shift) & 0xFF] == length) {
+                continue;
+            }
+            int sum = targetFrom;
+            for (int i = 0; i < 256; i++) {
+                int current = count[i];
+                count[i] = sum;
+                sum += current;
+            }
+            for (int i = sourceFrom; i < sourceFrom + length; i++) {
+                int value = source[i];
+                target[count[((value ^ Integer.MIN_VALUE) >>> shift) & 0xFF]++] = value;
+            }
+            int[] temp = source;
+            source = target;
+            target = temp;
+            int tempFrom = sourceFrom;
+            sourceFrom = targetFrom;
+            targetFrom = tempFrom;
+        }
+        if (source != array) {
+            System.arraycopy(source, sourceFrom, array, from, length);
+        }
+    }
+
+    /**
+     * Same as {@link #radixSort(int[], int, int)}, with sign-aware byte keys for {@code long}.
+     */
+    public static void radixSort(long[] array, int from, int to) {
+        int length = to - from;
+        if (length < RADIX_THRESHOLD) {
+            Arrays.sort(array, from, to);
+            return;
+        }
+        if (length >= PARALLEL_RADIX_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            parallelRadixSort(array, from, to);
+            return;
+        }
+        int[][] counts = new int[8][256];
+        for (int i = from; i < to; i++) {
+            long key = array[i] ^ Long.MIN_VALUE;
+            for (int pass = 0; pass < 8; pass++) {
+                counts[pass][(int) (key >>> (pass << 3)) & 0xFF]++;
+            }
+        }
+        long[] source = array;
+        long[] target = new long[length];
+        int sourceFrom = from;
+        int targetFrom = 0;
+        for (int pass = 0; pass < 8; pass++) {
+            int shift = pass << 3;
+            int[] count = counts[pass];
+            if (count[(int) ((source[sourceFrom] ^ Long.MIN_VALUE) >>> shift) & 0xFF] == length) {
+                continue;
+            }
+            int sum = targetFrom;
+            for (int i = 0; i < 256; i++) {
+                int current = count[i];
+                count[i] = sum;
+                sum += current;
+            }
+            for (int i = sourceFrom; i < sourceFrom + length; i++) {
+                long value = source[i];
+                target[count[(int) ((value ^ Long.MIN_VALUE) >>> shift) & 0xFF]++] = value;
+            }
+            long[] temp = source;
+            source = target;
+            target = temp;
+            int tempFrom = sourceFrom;
+            sourceFrom = targetFrom;
+            targetFrom = tempFrom;
+        }
+        if (source != array) {
+            System.arraycopy(source, sourceFrom, array, from, length);
+        }
+    }
+
+    /**
+     * Sorts {@code array[from..to)} in the order of {@link Double#compare}: IEEE-754 bits are mapped to {@code long}
+     * keys that compare the same way, the keys are radix sorted and mapped back.
+     */
+    public static void radixSort(double[] array, int from, int to) {
+        int length = to - from;
+        if (length < RADIX_THRESHOLD) {
+            Arrays.sort(array, from, to);
+            return;
+        }
+        long[] keys = new long[length];
+        for (int i = 0; i < length; i++) {
+            keys[i] = doubleKey(Double.doubleToLongBits(array[from + i]));
+        }
+        radixSort(keys, 0, length);
+        for (int i = 0; i < length; i++) {
+            array[from + i] = Double.longBitsToDouble(doubleKey(keys[i]));
+        }
+    }
+
+    // flips the magnitude bits of negative values; applying it twice gives back the original bits
+    private static long doubleKey(long bits) {
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * LSD radix sort on the common {@link ForkJoinPool}: for each byte every worker counts its own block, the
+     * per-block histograms are turned into disjoint output ranges, and the workers scatter their blocks in parallel,
+     * which keeps every pass stable.
+     */
+    public static void parallelRadixSort(int[] array, int from, int to) {
+        int length = to - from;
+        int blocks = Math.min(4 * ForkJoinPool.getCommonPoolParallelism(), Math.max(1, length / RADIX_THRESHOLD));
+        int[] source = array;
+        int[] target = new int[length];
+        int sourceFrom = from;
+        int targetFrom = 0;
+        int[][] counts = new int[blocks][256];
+        for (int pass = 0; pass < 4; pass++) {
+            int shift = pass << 3;
+            int[] currentSource = source;
+            int currentFrom = sourceFrom;
+            runBlocks(blocks, block -> {
+                int[] count = counts[block];
+                Arrays.fill(count, 0);
+                for (int i = blockStart(currentFrom, length, blocks, block);
+                     i < blockStart(currentFrom, length, blocks, block + 1); i++) {
+                    count[((currentSource[i] ^ Integer.MIN_VALUE) >>> shift) & 0xFF]++;
+                }
+            });
+            if (!toOffsets(counts, targetFrom, length)) {
+                continue;
+            }
+            int[] currentTarget = target;
+            runBlocks(blocks, block -> {
+                int[] offset = counts[block];
+                for (int i = blockStart(currentFrom, length, blocks, block);
+                     i < blockStart(currentFrom, length, blocks, block + 1); i++) {
+                    int value = currentSource[i];
+                    currentTarget[offset[((value ^ Integer.MIN_VALUE) >>> shift) & 0xFF]++] = value;
+                }
+            });
+            int[] temp = source;
+            source = target;
+            target = temp;
+            int tempFrom = sourceFrom;
+            sourceFrom = targetFrom;
+            targetFrom = tempFrom;
+        }
+        if (source != array) {
+            System.arraycopy(source, sourceFrom, array, from, length);
+        }
+    }
+
+    public static void parallelRadixSort(long[] array, int from, int to) {
+        int length = to - from;
+        int blocks = Math.min(4 * ForkJoinPool.getCommonPoolParallelism(), Math.max(1, length / RADIX_THRESHOLD));
+        long[] source = array;
+        long[] target = new long[length];
+        int sourceFrom = from;
+        int targetFrom = 0;
+        int[][] counts = new int[blocks][256];
+        for (int pass = 0; pass < 8; pass++) {
+            int shift = pass << 3;
+            long[] currentSource = source;
+            int currentFrom = sourceFrom;
+            runBlocks(blocks, block -> {
+                int[] count = counts[block];
+                Arrays.fill(count, 0);
+                for (int i = blockStart(currentFrom, length, blocks, block);
+                     i < blockStart(currentFrom, length, blocks, block + 1); i++) {
+                    count[(int) ((currentSource[i] ^ Long.MIN_VALUE) >>> shift) & 0xFF]++;
+                }
+            });
+            if (!toOffsets(counts, targetFrom, length)) {
+                continue;
+            }
+            long[] currentTarget = target;
+            runBlocks(blocks, block -> {
+                int[] offset = counts[block];
+                for (int i = blockStart(currentFrom, length, blocks, block);
+                     i < blockStart(currentFrom, length, blocks, block + 1); i++) {
+                    long value = currentSource[i];
+                    currentTarget[offset[(int) ((value ^ Long.MIN_VALUE) >>> shift) & 0xFF]++] = value;
+                }
+            });
+            long[] temp = source;
+            source = target;
+            target = temp;
+            int tempFrom = sourceFrom;
+            sourceFrom = targetFrom;
+            targetFrom = tempFrom;
+        }
+        if (source != array) {
+            System.arraycopy(source, sourceFrom, array, from, length);
+        }
+    }
+
+    /**
+     * Returns the permutation that sorts {@code keys} stably: (key, position) pairs are packed into single
+     * {@code long}s and radix sorted.
+     */
+    public static int[] radixOrder(int[] keys) {
+        int[] order = new int[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        radixOrder(keys, order);
+        return order;
+    }
+
+    /**
+     * Stably reorders {@code order} by {@code keys[order[i]]}.
+     */
+    public static void radixOrder(int[] keys, int[] order) {
+        long[] packed = new long[order.length];
+        for (int i = 0; i < order.length; i++) {
+            packed[i] = (long) keys[order[i]] << 32 | i;
+        }
+        radixSort(packed, 0, packed.length);
+        int[] source = order.clone();
+        for (int i = 0; i < order.length; i++) {
+            order[i] = source[(int) packed[i]];
+        }
+    }
+
+    public static int[] radixOrder(long[] keys) {
+        int[] order = new int[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        radixOrder(keys, order);
+        return order;
+    }
+
+    /**
+     * Stably reorders {@code order} by {@code keys[order[i]]}. Keys travel together with the indices through the
+     * passes, so no pass has to look keys up at random.
+     */
+    public static void radixOrder(long[] keys, int[] order) {
+        int length = order.length;
+        long[] sourceKeys = new long[length];
+        for (int i = 0; i < length; i++) {
+            sourceKeys[i] = keys[order[i]];
+        }
+        int blocks = length >= PARALLEL_RADIX_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1 ?
+                4 * ForkJoinPool.getCommonPoolParallelism() : 1;
+        int[] sourceOrder = order;
+        long[] targetKeys = new long[length];
+        int[] targetOrder = new int[length];
+        int[][] counts = new int[blocks][256];
+        for (int pass = 0; pass < 8 && length > 0; pass++) {
+            int shift = pass << 3;
+            long[] currentKeys = sourceKeys;
+            runBlocks(blocks, block -> {
+                int[] count = counts[block];
+                Arrays.fill(count, 0);
+                for (int i = blockStart(0, length, blocks, block); i < blockStart(0, length, blocks, block + 1); i++) {
+                    count[(int) ((currentKeys[i] ^ Long.MIN_VALUE) >>> shift) & 0xFF]++;
+                }
+            });
+            if (!toOffsets(counts, 0, length)) {
+                continue;
+            }
+            int[] currentOrder = sourceOrder;
+            long[] nextKeys = targetKeys;
+            int[] nextOrder = targetOrder;
+            runBlocks(blocks, block -> {
+                int[] offset = counts[block];
+                for (int i = blockStart(0, length, blocks, block); i < blockStart(0, length, blocks, block + 1); i++) {
+                    long key = currentKeys[i];
+                    int at = offset[(int) ((key ^ Long.MIN_VALUE) >>> shift) & 0xFF]++;
+                    nextKeys[at] = key;
+                    nextOrder[at] = currentOrder[i];
+                }
+            });
+            targetKeys = sourceKeys;
+            sourceKeys = nextKeys;
+            targetOrder = sourceOrder;
+            sourceOrder = nextOrder;
+        }
+        if (sourceOrder != order) {
+            System.arraycopy(sourceOrder, 0, order, 0, length);
+        }
+    }
+
+    /**
+     * Sort order of {@code keys} under {@link Double#compare}.
+     */
+    public static int[] radixOrder(double[] keys) {
+        long[] mapped = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            mapped[i] = doubleKey(Double.doubleToLongBits(keys[i]));
+        }
+        return radixOrder(mapped);
+    }
+
+    private static int blockStart(int from, int length, int blocks, int block) {
+        return from + (int) ((long) length * block / blocks);
+    }
+
+    private static void runBlocks(int blocks, BlockTask task) {
+        if (blocks == 1) {
+            task.run(0);
+            return;
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(blocks);
+        for (int i = 0; i < blocks; i++) {
+            int block = i;
+            tasks.add(ForkJoinTask.adapt(() -> task.run(block)));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    /**
+     * Replaces per-block histograms with the first output position of every (byte, block) pair. Returns {@code false}
+     * when a single byte value covers the whole range, so the pass would not move anything.
+     */
+    private static boolean toOffsets(int[][] counts, int targetFrom, int length) {
+        int sum = targetFrom;
+        for (int digit = 0; digit < 256; digit++) {
+            int total = 0;
+            for (int[] count : counts) {
+                total += count[digit];
+            }
+            if (total == length) {
+                return false;
+            }
+            for (int[] count : counts) {
+                int current = count[digit];
+                count[digit] = sum;
+                sum += current;
+            }
+        }
+        return true;
+    }
+
+    private interface BlockTask {
+        void run(int block);
+    }
 }
\ No newline at end of file
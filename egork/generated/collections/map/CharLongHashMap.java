@@ -0,0 +1,367 @@
+package template.egork.generated.collections.map;
+
+import template.egork.generated.collections.CharAbstractStream;
+import template.egork.generated.collections.CharCollection;
+import template.egork.generated.collections.LongAbstractStream;
+import template.egork.generated.collections.LongCollection;
+import template.egork.generated.collections.function.LongLongToLongFunction;
+import template.egork.generated.collections.hashing.CharHash;
+import template.egork.generated.collections.iterator.CharIterator;
+import template.egork.generated.collections.iterator.LongIterator;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Open-addressing {@code char -> long} map. Keys and values live in two parallel arrays probed linearly; key {@code 0}
+ * is stored outside the table, so no per-slot state is needed, and removal shifts the following entries back instead of
+ * leaving tombstones. With load factor at most 3/4 an entry costs about 18 bytes.
+ */
+public class CharLongHashMap {
+    private static final int MIN_CAPACITY = 8;
+
+    private char[] keys;
+    private long[] values;
+    private int size;
+    private int mask;
+    private int shift;
+    private boolean hasZero;
+    private long zeroValue;
+
+    public CharLongHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public CharLongHashMap(int capacity) {
+        allocate(tableSize(capacity));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, (char) 0);
+        hasZero = false;
+        zeroValue = 0;
+        size = 0;
+    }
+
+    public boolean containsKey(char key) {
+        if (key == 0) {
+            return hasZero;
+        }
+        return keys[find(key)] == key;
+    }
+
+    /**
+     * @throws NoSuchElementException if there is no mapping for {@code key}
+     */
+    public long get(char key) {
+        if (key == 0) {
+            if (!hasZero) {
+                throw new NoSuchElementException();
+            }
+            return zeroValue;
+        }
+        int index = find(key);
+        if (keys[index] != key) {
+            throw new NoSuchElementException();
+        }
+        return values[index];
+    }
+
+    public long getOrDefault(char key, long defaultValue) {
+        if (key == 0) {
+            return hasZero ? zeroValue : defaultValue;
+        }
+        int index = find(key);
+        return keys[index] == key ? values[index] : defaultValue;
+    }
+
+    public void put(char key, long value) {
+        if (key == 0) {
+            if (!hasZero) {
+                hasZero = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int index = find(key);
+        if (keys[index] != key) {
+            insert(index, key, value);
+            return;
+        }
+        values[index] = value;
+    }
+
+    /**
+     * Adds {@code delta} to the value of {@code key}, treating an absent key as zero. Returns the new value.
+     */
+    public long addTo(char key, long delta) {
+        if (key == 0) {
+            if (!hasZero) {
+                hasZero = true;
+                size++;
+            }
+            zeroValue += delta;
+            return zeroValue;
+        }
+        int index = find(key);
+        if (keys[index] != key) {
+            insert(index, key, delta);
+            return delta;
+        }
+        values[index] += delta;
+        return values[index];
+    }
+
+    /**
+     * Puts {@code value} if {@code key} is absent, otherwise replaces the current value with
+     * {@code function.value(current, value)}. Returns the new value.
+     */
+    public long merge(char key, long value, LongLongToLongFunction function) {
+        if (key == 0) {
+            if (hasZero) {
+                zeroValue = function.value(zeroValue, value);
+            } else {
+                hasZero = true;
+                size++;
+                zeroValue = value;
+            }
+            return zeroValue;
+        }
+        int index = find(key);
+        if (keys[index] != key) {
+            insert(index, key, value);
+            return value;
+        }
+        long result = function.value(values[index], value);
+        values[index] = result;
+        return result;
+    }
+
+    public boolean remove(char key) {
+        if (key == 0) {
+            if (!hasZero) {
+                return false;
+            }
+            hasZero = false;
+            zeroValue = 0;
+            size--;
+            return true;
+        }
+        int index = find(key);
+        if (keys[index] != key) {
+            return false;
+        }
+        // backward shift: move every following entry of the cluster that may not sit before the hole
+        int hole = index;
+        for (int current = (hole + 1) & mask; keys[current] != 0; current = (current + 1) & mask) {
+            int home = index(keys[current]);
+            if (((current - home) & mask) >= ((current - hole) & mask)) {
+                keys[hole] = keys[current];
+                values[hole] = values[current];
+                hole = current;
+            }
+        }
+        keys[hole] = 0;
+        values[hole] = 0;
+        size--;
+        return true;
+    }
+
+    /**
+     * Live view of the keys; it does not support removal.
+     */
+    public CharCollection keys() {
+        return new CharAbstractCollection() {
+            @Override
+            public CharIterator charIterator() {
+                EntryIterator it = entryIterator();
+                return new CharIterator() {
+                    public char value() throws NoSuchElementException {
+                        return it.key();
+                    }
+
+                    public boolean advance() {
+                        return it.advance();
+                    }
+
+                    public boolean isValid() {
+                        return it.isValid();
+                    }
+
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(char value) {
+                return containsKey(value);
+            }
+        };
+    }
+
+    /**
+     * Live view of the values, in the same order as {@link #keys()}; it does not support removal.
+     */
+    public LongCollection values() {
+        return new LongAbstractCollection() {
+            @Override
+            public LongIterator longIterator() {
+                EntryIterator it = entryIterator();
+                return new LongIterator() {
+                    public long value() throws NoSuchElementException {
+                        return it.value();
+                    }
+
+                    public boolean advance() {
+                        return it.advance();
+                    }
+
+                    public boolean isValid() {
+                        return it.isValid();
+                    }
+
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    public EntryIterator entryIterator() {
+        return new EntryIterator();
+    }
+
+    private int index(char key) {
+        return (CharHash.hash(key) * 0x9E3779B9) >>> shift;
+    }
+
+    private int find(char key) {
+        int index = index(key);
+        while (keys[index] != 0 && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void insert(int index, char key, long value) {
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        if (size > (mask + 1) / 4 * 3) {
+            rehash();
+        }
+    }
+
+    private void rehash() {
+        char[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(keys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int index = find(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new char[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(mask);
+    }
+
+    private static int tableSize(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity / 4 * 3 < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Walks over entries, starting with the zero key if present. Changing the map structurally invalidates the
+     * iterator; {@link #setValue} does not.
+     */
+    public class EntryIterator {
+        private int position;
+
+        private EntryIterator() {
+            position = hasZero ? -1 : next(-1);
+        }
+
+        public boolean isValid() {
+            return position < keys.length;
+        }
+
+        public boolean advance() {
+            if (!isValid()) {
+                throw new NoSuchElementException();
+            }
+            position = next(position);
+            return isValid();
+        }
+
+        public char key() {
+            check();
+            return position == -1 ? 0 : keys[position];
+        }
+
+        public long value() {
+            check();
+            return position == -1 ? zeroValue : values[position];
+        }
+
+        public void setValue(long value) {
+            check();
+            if (position == -1) {
+                zeroValue = value;
+            } else {
+                values[position] = value;
+            }
+        }
+
+        private void check() {
+            if (!isValid()) {
+                throw new NoSuchElementException();
+            }
+        }
+
+        private int next(int from) {
+            int result = from + 1;
+            while (result < keys.length && keys[result] == 0) {
+                result++;
+            }
+            return result;
+        }
+    }
+
+    private abstract static class CharAbstractCollection extends CharAbstractStream implements CharCollection {
+    }
+
+    private abstract static class LongAbstractCollection extends LongAbstractStream implements LongCollection {
+    }
+}
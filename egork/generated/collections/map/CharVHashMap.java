@@ -0,0 +1,312 @@
+package template.egork.generated.collections.map;
+
+import template.egork.generated.collections.CharAbstractStream;
+import template.egork.generated.collections.CharCollection;
+import template.egork.generated.collections.hashing.CharHash;
+import template.egork.generated.collections.iterator.CharIterator;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+/**
+ * Open-addressing {@code char -> V} map. Keys and values live in two parallel arrays probed linearly; key {@code 0} is
+ * stored outside the table, so no per-slot state is needed, and removal shifts the following entries back instead of
+ * leaving tombstones. With load factor at most 3/4 an entry costs about 11 bytes.
+ */
+public class CharVHashMap<V> {
+    private static final int MIN_CAPACITY = 8;
+
+    private char[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+    private int shift;
+    private boolean hasZero;
+    private V zeroValue;
+
+    public CharVHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public CharVHashMap(int capacity) {
+        allocate(tableSize(capacity));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, (char) 0);
+        Arrays.fill(values, null);
+        hasZero = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    public boolean containsKey(char key) {
+        if (key == 0) {
+            return hasZero;
+        }
+        return keys[find(key)] == key;
+    }
+
+    /**
+     * @throws NoSuchElementException if there is no mapping for {@code key}
+     */
+    public V get(char key) {
+        if (key == 0) {
+            if (!hasZero) {
+                throw new NoSuchElementException();
+            }
+            return zeroValue;
+        }
+        int index = find(key);
+        if (keys[index] != key) {
+            throw new NoSuchElementException();
+        }
+        return value(index);
+    }
+
+    public V getOrDefault(char key, V defaultValue) {
+        if (key == 0) {
+            return hasZero ? zeroValue : defaultValue;
+        }
+        int index = find(key);
+        return keys[index] == key ? value(index) : defaultValue;
+    }
+
+    public void put(char key, V value) {
+        if (key == 0) {
+            if (!hasZero) {
+                hasZero = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int index = find(key);
+        if (keys[index] != key) {
+            insert(index, key, value);
+            return;
+        }
+        values[index] = value;
+    }
+
+    /**
+     * Puts {@code value} if {@code key} is absent, otherwise replaces the current value with
+     * {@code function.apply(current, value)}. Returns the new value.
+     */
+    public V merge(char key, V value, BiFunction<V, V, V> function) {
+        if (key == 0) {
+            if (hasZero) {
+                zeroValue = function.apply(zeroValue, value);
+            } else {
+                hasZero = true;
+                size++;
+                zeroValue = value;
+            }
+            return zeroValue;
+        }
+        int index = find(key);
+        if (keys[index] != key) {
+            insert(index, key, value);
+            return value;
+        }
+        V result = function.apply(value(index), value);
+        values[index] = result;
+        return result;
+    }
+
+    public boolean remove(char key) {
+        if (key == 0) {
+            if (!hasZero) {
+                return false;
+            }
+            hasZero = false;
+            zeroValue = null;
+            size--;
+            return true;
+        }
+        int index = find(key);
+        if (keys[index] != key) {
+            return false;
+        }
+        // backward shift: move every following entry of the cluster that may not sit before the hole
+        int hole = index;
+        for (int current = (hole + 1) & mask; keys[current] != 0; current = (current + 1) & mask) {
+            int home = index(keys[current]);
+            if (((current - home) & mask) >= ((current - hole) & mask)) {
+                keys[hole] = keys[current];
+                values[hole] = values[current];
+                hole = current;
+            }
+        }
+        keys[hole] = 0;
+        values[hole] = null;
+        size--;
+        return true;
+    }
+
+    /**
+     * Live view of the keys; it does not support removal.
+     */
+    public CharCollection keys() {
+        return new CharAbstractCollection() {
+            @Override
+            public CharIterator charIterator() {
+                EntryIterator it = entryIterator();
+                return new CharIterator() {
+                    public char value() throws NoSuchElementException {
+                        return it.key();
+                    }
+
+                    public boolean advance() {
+                        return it.advance();
+                    }
+
+                    public boolean isValid() {
+                        return it.isValid();
+                    }
+
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(char value) {
+                return containsKey(value);
+            }
+        };
+    }
+
+    public EntryIterator entryIterator() {
+        return new EntryIterator();
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int index) {
+        return (V) values[index];
+    }
+
+    private int index(char key) {
+        return (CharHash.hash(key) * 0x9E3779B9) >>> shift;
+    }
+
+    private int find(char key) {
+        int index = index(key);
+        while (keys[index] != 0 && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void insert(int index, char key, V value) {
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        if (size > (mask + 1) / 4 * 3) {
+            rehash();
+        }
+    }
+
+    private void rehash() {
+        char[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(keys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int index = find(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new char[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(mask);
+    }
+
+    private static int tableSize(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity / 4 * 3 < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Walks over entries, starting with the zero key if present. Changing the map structurally invalidates the
+     * iterator; {@link #setValue} does not.
+     */
+    public class EntryIterator {
+        private int position;
+
+        private EntryIterator() {
+            position = hasZero ? -1 : next(-1);
+        }
+
+        public boolean isValid() {
+            return position < keys.length;
+        }
+
+        public boolean advance() {
+            if (!isValid()) {
+                throw new NoSuchElementException();
+            }
+            position = next(position);
+            return isValid();
+        }
+
+        public char key() {
+            check();
+            return position == -1 ? 0 : keys[position];
+        }
+
+        public V value() {
+            check();
+            return position == -1 ? zeroValue : CharVHashMap.this.value(position);
+        }
+
+        public void setValue(V value) {
+            check();
+            if (position == -1) {
+                zeroValue = value;
+            } else {
+                values[position] = value;
+            }
+        }
+
+        private void check() {
+            if (!isValid()) {
+                throw new NoSuchElementException();
+            }
+        }
+
+        private int next(int from) {
+            int result = from + 1;
+            while (result < keys.length && keys[result] == 0) {
+                result++;
+            }
+            return result;
+        }
+    }
+
+    private abstract static class CharAbstractCollection extends CharAbstractStream implements CharCollection {
+    }
+}
@@ -0,0 +1,374 @@
+package template.egork.generated.collections.map;
+
+import template.egork.generated.collections.DoubleAbstractStream;
+import template.egork.generated.collections.DoubleCollection;
+import template.egork.generated.collections.LongAbstractStream;
+import template.egork.generated.collections.LongCollection;
+import template.egork.generated.collections.function.LongLongToLongFunction;
+import template.egork.generated.collections.hashing.LongHash;
+import template.egork.generated.collections.iterator.DoubleIterator;
+import template.egork.generated.collections.iterator.LongIterator;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Open-addressing {@code double -> long} map. Keys and values live in two parallel arrays probed linearly; key
+ * {@code 0.0} (equal to {@code -0.0}) is stored outside the table, so no per-slot state is needed, and removal shifts
+ * the following entries back instead of leaving tombstones. With load factor at most 3/4 an entry costs about 29 bytes.
+ */
+public class DoubleLongHashMap {
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+    private int mask;
+    private int shift;
+    private boolean hasZero;
+    private long zeroValue;
+
+    public DoubleLongHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public DoubleLongHashMap(int capacity) {
+        allocate(tableSize(capacity));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        hasZero = false;
+        zeroValue = 0;
+        size = 0;
+    }
+
+    public boolean containsKey(double key) {
+        long stored = Double.doubleToLongBits(key + 0.0);
+        if (stored == 0) {
+            return hasZero;
+        }
+        return keys[find(stored)] == stored;
+    }
+
+    /**
+     * @throws NoSuchElementException if there is no mapping for {@code key}
+     */
+    public long get(double key) {
+        long stored = Double.doubleToLongBits(key + 0.0);
+        if (stored == 0) {
+            if (!hasZero) {
+                throw new NoSuchElementException();
+            }
+            return zeroValue;
+        }
+        int index = find(stored);
+        if (keys[index] != stored) {
+            throw new NoSuchElementException();
+        }
+        return values[index];
+    }
+
+    public long getOrDefault(double key, long defaultValue) {
+        long stored = Double.doubleToLongBits(key + 0.0);
+        if (stored == 0) {
+            return hasZero ? zeroValue : defaultValue;
+        }
+        int index = find(stored);
+        return keys[index] == stored ? values[index] : defaultValue;
+    }
+
+    public void put(double key, long value) {
+        long stored = Double.doubleToLongBits(key + 0.0);
+        if (stored == 0) {
+            if (!hasZero) {
+                hasZero = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int index = find(stored);
+        if (keys[index] != stored) {
+            insert(index, stored, value);
+            return;
+        }
+        values[index] = value;
+    }
+
+    /**
+     * Adds {@code delta} to the value of {@code key}, treating an absent key as zero. Returns the new value.
+     */
+    public long addTo(double key, long delta) {
+        long stored = Double.doubleToLongBits(key + 0.0);
+        if (stored == 0) {
+            if (!hasZero) {
+                hasZero = true;
+                size++;
+            }
+            zeroValue += delta;
+            return zeroValue;
+        }
+        int index = find(stored);
+        if (keys[index] != stored) {
+            insert(index, stored, delta);
+            return delta;
+        }
+        values[index] += delta;
+        return values[index];
+    }
+
+    /**
+     * Puts {@code value} if {@code key} is absent, otherwise replaces the current value with
+     * {@code function.value(current, value)}. Returns the new value.
+     */
+    public long merge(double key, long value, LongLongToLongFunction function) {
+        long stored = Double.doubleToLongBits(key + 0.0);
+        if (stored == 0) {
+            if (hasZero) {
+                zeroValue = function.value(zeroValue, value);
+            } else {
+                hasZero = true;
+                size++;
+                zeroValue = value;
+            }
+            return zeroValue;
+        }
+        int index = find(stored);
+        if (keys[index] != stored) {
+            insert(index, stored, value);
+            return value;
+        }
+        long result = function.value(values[index], value);
+        values[index] = result;
+        return result;
+    }
+
+    public boolean remove(double key) {
+        long stored = Double.doubleToLongBits(key + 0.0);
+        if (stored == 0) {
+            if (!hasZero) {
+                return false;
+            }
+            hasZero = false;
+            zeroValue = 0;
+            size--;
+            return true;
+        }
+        int index = find(stored);
+        if (keys[index] != stored) {
+            return false;
+        }
+        // backward shift: move every following entry of the cluster that may not sit before the hole
+        int hole = index;
+        for (int current = (hole + 1) & mask; keys[current] != 0; current = (current + 1) & mask) {
+            int home = index(keys[current]);
+            if (((current - home) & mask) >= ((current - hole) & mask)) {
+                keys[hole] = keys[current];
+                values[hole] = values[current];
+                hole = current;
+            }
+        }
+        keys[hole] = 0;
+        values[hole] = 0;
+        size--;
+        return true;
+    }
+
+    /**
+     * Live view of the keys; it does not support removal.
+     */
+    public DoubleCollection keys() {
+        return new DoubleAbstractCollection() {
+            @Override
+            public DoubleIterator doubleIterator() {
+                EntryIterator it = entryIterator();
+                return new DoubleIterator() {
+                    public double value() throws NoSuchElementException {
+                        return it.key();
+                    }
+
+                    public boolean advance() {
+                        return it.advance();
+                    }
+
+                    public boolean isValid() {
+                        return it.isValid();
+                    }
+
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(double value) {
+                return containsKey(value);
+            }
+        };
+    }
+
+    /**
+     * Live view of the values, in the same order as {@link #keys()}; it does not support removal.
+     */
+    public LongCollection values() {
+        return new LongAbstractCollection() {
+            @Override
+            public LongIterator longIterator() {
+                EntryIterator it = entryIterator();
+                return new LongIterator() {
+                    public long value() throws NoSuchElementException {
+                        return it.value();
+                    }
+
+                    public boolean advance() {
+                        return it.advance();
+                    }
+
+                    public boolean isValid() {
+                        return it.isValid();
+                    }
+
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    public EntryIterator entryIterator() {
+        return new EntryIterator();
+    }
+
+    private int index(long stored) {
+        return (LongHash.hash(stored) * 0x9E3779B9) >>> shift;
+    }
+
+    private int find(long stored) {
+        int index = index(stored);
+        while (keys[index] != 0 && keys[index] != stored) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void insert(int index, long stored, long value) {
+        keys[index] = stored;
+        values[index] = value;
+        size++;
+        if (size > (mask + 1) / 4 * 3) {
+            rehash();
+        }
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(keys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int index = find(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        shift = Integer.numberOfLeadingZeros(mask);
+    }
+
+    private static int tableSize(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity / 4 * 3 < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Walks over entries, starting with the zero key if present. Changing the map structurally invalidates the
+     * iterator; {@link #setValue} does not.
+     */
+    public class EntryIterator {
+        private int position;
+
+        private EntryIterator() {
+            position = hasZero ? -1 : next(-1);
+        }
+
+        public boolean isValid() {
+            return position < keys.length;
+        }
+
+        public boolean advance() {
+            if (!isValid()) {
+                throw new NoSuchElementException();
+            }
+            position = next(position);
+            return isValid();
+        }
+
+        public double key() {
+            check();
+            return position == -1 ? 0 : Double.longBitsToDouble(keys[position]);
+        }
+
+        public long value() {
+            check();
+            return position == -1 ? zeroValue : values[position];
+        }
+
+        public void setValue(long value) {
+            check();
+            if (position == -1) {
+                zeroValue = value;
+            } else {
+                values[position] = value;
+            }
+        }
+
+        private void check() {
+            if (!isValid()) {
+                throw new NoSuchElementException();
+            }
+        }
+
+        private int next(int from) {
+            int result = from + 1;
+            while (result < keys.length && keys[result] == 0) {
+                result++;
+            }
+            return result;
+        }
+    }
+
+    private abstract static class DoubleAbstractCollection extends DoubleAbstractStream implements DoubleCollection {
+    }
+
+    private abstract static class LongAbstractCollection extends LongAbstractStream implements LongCollection {
+    }
+}
@@ -0,0 +1,212 @@
+package template.egork.generated.collections.set;
+
+import template.egork.generated.collections.CharAbstractStream;
+import template.egork.generated.collections.CharCollection;
+import template.egork.generated.collections.iterator.CharIterator;
+import template.egork.generated.collections.list.CharArray;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free insert-only hash set, safe to share between threads. Slots of the linear-probe table are claimed with a
+ * single CAS. When the table fills up, a table of twice the size is attached to it and every thread that runs into the
+ * old one helps to copy it chunk by chunk: empty slots of the old table are sealed with {@code MOVED}, so late writers
+ * fail their CAS and continue in the new table, while {@link #contains(char)} never waits or retries and just follows
+ * {@code MOVED} slots to the next table. Slots hold the value plus one, which leaves both slot markers outside of the
+ * {@code char} range.
+ *
+ * Removal is not supported; iteration works on a snapshot.
+ */
+public class CharConcurrentHashSet extends CharAbstractStream implements CharSet {
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final int EMPTY = 0;
+    private static final int MOVED = -1;
+    private static final int CHUNK = 1024;
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            NEXT = MethodHandles.lookup().findVarHandle(Table.class, "next", Table.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final AtomicReference<Table> table;
+    private final LongAdder size = new LongAdder();
+
+    public CharConcurrentHashSet() {
+        this(16);
+    }
+
+    public CharConcurrentHashSet(int capacity) {
+        table = new AtomicReference<>(new Table(Integer.highestOneBit(Math.max(capacity, 8) * 2 - 1) * 2));
+    }
+
+    public CharConcurrentHashSet(CharCollection c) {
+        this(c.size());
+        addAll(c);
+    }
+
+    @Override
+    public CharIterator charIterator() {
+        CharHashSet snapshot = new CharHashSet();
+        for (Table current = table.get(); current != null; current = current.next) {
+            for (int i = 0; i < current.slots.length; i++) {
+                int slot = (int) SLOTS.getAcquire(current.slots, i);
+                if (slot != EMPTY && slot != MOVED) {
+                    snapshot.add((char) (slot - 1));
+                }
+            }
+        }
+        return new CharArray(snapshot.toArray()).charIterator();
+    }
+
+    @Override
+    public int size() {
+        return size.intValue();
+    }
+
+    @Override
+    public void add(char value) {
+        addIfAbsent(value);
+    }
+
+    /**
+     * @return {@code true} if this call inserted {@code value}, {@code false} if it was already present
+     */
+    public boolean addIfAbsent(char value) {
+        if (insert(table.get(), value + 1)) {
+            size.increment();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(char value) {
+        int key = value + 1;
+        Table current = table.get();
+        while (current != null) {
+            int[] slots = current.slots;
+            int mask = slots.length - 1;
+            int index = index(key, slots.length);
+            boolean moved = false;
+            for (int probe = 0; probe <= mask; probe++) {
+                int slot = (int) SLOTS.getAcquire(slots, index);
+                if (slot == key) {
+                    return true;
+                }
+                if (slot == EMPTY) {
+                    return false;
+                }
+                if (slot == MOVED) {
+                    moved = true;
+                    break;
+                }
+                index = (index + 1) & mask;
+            }
+            if (!moved && current.next == null) {
+                return false;
+            }
+            current = current.next;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean remove(char value) {
+        throw new UnsupportedOperationException();
+    }
+
+    private boolean insert(Table current, int value) {
+        while (true) {
+            int[] slots = current.slots;
+            int mask = slots.length - 1;
+            int index = index(value, slots.length);
+            boolean moved = false;
+            for (int probe = 0; probe <= mask; ) {
+                int slot = (int) SLOTS.getAcquire(slots, index);
+                if (slot == value) {
+                    return false;
+                }
+                if (slot == EMPTY) {
+                    if (SLOTS.compareAndSet(slots, index, EMPTY, value)) {
+                        if (current.used.incrementAndGet() > current.threshold) {
+                            transfer(current);
+                        }
+                        return true;
+                    }
+                    continue;
+                }
+                if (slot == MOVED) {
+                    moved = true;
+                    break;
+                }
+                index = (index + 1) & mask;
+                probe++;
+            }
+            if (!moved && current.next == null) {
+                transfer(current);
+            } else if (current.next != null) {
+                helpTransfer(current);
+            }
+            current = current.next;
+        }
+    }
+
+    private void transfer(Table current) {
+        if (current.next == null) {
+            NEXT.compareAndSet(current, null, new Table(current.slots.length * 2));
+        }
+        helpTransfer(current);
+    }
+
+    private void helpTransfer(Table current) {
+        Table next = current.next;
+        int[] slots = current.slots;
+        while (current.transferIndex.get() < slots.length) {
+            int from = current.transferIndex.getAndAdd(CHUNK);
+            if (from >= slots.length) {
+                return;
+            }
+            int to = Math.min(from + CHUNK, slots.length);
+            for (int i = from; i < to; i++) {
+                int slot;
+                while ((slot = (int) SLOTS.getAcquire(slots, i)) == EMPTY) {
+                    if (SLOTS.compareAndSet(slots, i, EMPTY, MOVED)) {
+                        break;
+                    }
+                }
+                if (slot != EMPTY && slot != MOVED) {
+                    insert(next, slot);
+                }
+            }
+            if (current.transferred.addAndGet(to - from) == slots.length) {
+                table.compareAndSet(current, next);
+            }
+        }
+    }
+
+    private static int index(int value, int capacity) {
+        return (value * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(capacity - 1);
+    }
+
+    private static class Table {
+        private final int[] slots;
+        private final int threshold;
+        private final AtomicInteger used = new AtomicInteger();
+        private final AtomicInteger transferIndex = new AtomicInteger();
+        private final AtomicInteger transferred = new AtomicInteger();
+        private volatile Table next;
+
+        private Table(int capacity) {
+            slots = new int[capacity];
+            threshold = capacity >> 1;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package template.egork.generated.collections.set;
+
+import template.egork.generated.collections.DoubleAbstractStream;
+import template.egork.generated.collections.DoubleCollection;
+import template.egork.generated.collections.hashing.LongHash;
+import template.egork.generated.collections.iterator.DoubleIterator;
+import template.egork.generated.collections.list.DoubleArray;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free insert-only hash set, safe to share between threads. Slots of the linear-probe table are claimed with a
+ * single CAS. When the table fills up, a table of twice the size is attached to it and every thread that runs into the
+ * old one helps to copy it chunk by chunk: empty slots of the old table are sealed with {@code MOVED}, so late writers
+ * fail their CAS and continue in the new table, while {@link #contains(double)} never waits or retries and just follows
+ * {@code MOVED} slots to the next table. Slots hold {@link Double#doubleToLongBits} of the value with {@code -0.0}
+ * folded into {@code 0.0}, so that bit pattern of {@code -0.0} is free to mark moved slots and only {@code 0.0}, whose
+ * bits mark empty slots, is kept outside the table. Unlike {@code ==}, all NaNs are treated as one value.
+ *
+ * Removal is not supported; iteration works on a snapshot.
+ */
+public class DoubleConcurrentHashSet extends DoubleAbstractStream implements DoubleSet {
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final long EMPTY = 0;
+    private static final long MOVED = Double.doubleToRawLongBits(-0.0);
+    private static final int CHUNK = 1024;
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            NEXT = MethodHandles.lookup().findVarHandle(Table.class, "next", Table.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final AtomicReference<Table> table;
+    private final AtomicBoolean zero = new AtomicBoolean();
+    private final LongAdder size = new LongAdder();
+
+    public DoubleConcurrentHashSet() {
+        this(16);
+    }
+
+    public DoubleConcurrentHashSet(int capacity) {
+        table = new AtomicReference<>(new Table(Integer.highestOneBit(Math.max(capacity, 8) * 2 - 1) * 2));
+    }
+
+    public DoubleConcurrentHashSet(DoubleCollection c) {
+        this(c.size());
+        addAll(c);
+    }
+
+    @Override
+    public DoubleIterator doubleIterator() {
+        DoubleHashSet snapshot = new DoubleHashSet();
+        for (Table current = table.get(); current != null; current = current.next) {
+            for (int i = 0; i < current.slots.length; i++) {
+                long slot = (long) SLOTS.getAcquire(current.slots, i);
+                if (slot != EMPTY && slot != MOVED) {
+                    snapshot.add(Double.longBitsToDouble(slot));
+                }
+            }
+        }
+        if (zero.get()) {
+            snapshot.add(0);
+        }
+        return new DoubleArray(snapshot.toArray()).doubleIterator();
+    }
+
+    @Override
+    public int size() {
+        return size.intValue();
+    }
+
+    @Override
+    public void add(double value) {
+        addIfAbsent(value);
+    }
+
+    /**
+     * @return {@code true} if this call inserted {@code value}, {@code false} if it was already present
+     */
+    public boolean addIfAbsent(double value) {
+        long bits = bits(value);
+        if (bits == EMPTY) {
+            if (zero.getAndSet(true)) {
+                return false;
+            }
+            size.increment();
+            return true;
+        }
+        if (insert(table.get(), bits)) {
+            size.increment();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(double value) {
+        long bits = bits(value);
+        if (bits == EMPTY) {
+            return zero.get();
+        }
+        Table current = table.get();
+        while (current != null) {
+            long[] slots = current.slots;
+            int mask = slots.length - 1;
+            int index = index(bits, slots.length);
+            boolean moved = false;
+            for (int probe = 0; probe <= mask; probe++) {
+                long slot = (long) SLOTS.getAcquire(slots, index);
+                if (slot == bits) {
+                    return true;
+                }
+                if (slot == EMPTY) {
+                    return false;
+                }
+                if (slot == MOVED) {
+                    moved = true;
+                    break;
+                }
+                index = (index + 1) & mask;
+            }
+            if (!moved && current.next == null) {
+                return false;
+            }
+            current = current.next;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean remove(double value) {
+        throw new UnsupportedOperationException();
+    }
+
+    private boolean insert(Table current, long value) {
+        while (true) {
+            long[] slots = current.slots;
+            int mask = slots.length - 1;
+            int index = index(value, slots.length);
+            boolean moved = false;
+            for (int probe = 0; probe <= mask; ) {
+                long slot = (long) SLOTS.getAcquire(slots, index);
+                if (slot == value) {
+                    return false;
+                }
+                if (slot == EMPTY) {
+                    if (SLOTS.compareAndSet(slots, index, EMPTY, value)) {
+                        if (current.used.incrementAndGet() > current.threshold) {
+                            transfer(current);
+                        }
+                        return true;
+                    }
+                    continue;
+                }
+                if (slot == MOVED) {
+                    moved = true;
+                    break;
+                }
+                index = (index + 1) & mask;
+                probe++;
+            }
+            if (!moved && current.next == null) {
+                transfer(current);
+            } else if (current.next != null) {
+                helpTransfer(current);
+            }
+            current = current.next;
+        }
+    }
+
+    private void transfer(Table current) {
+        if (current.next == null) {
+            NEXT.compareAndSet(current, null, new Table(current.slots.length * 2));
+        }
+        helpTransfer(current);
+    }
+
+    private void helpTransfer(Table current) {
+        Table next = current.next;
+        long[] slots = current.slots;
+        while (current.transferIndex.get() < slots.length) {
+            int from = current.transferIndex.getAndAdd(CHUNK);
+            if (from >= slots.length) {
+                return;
+            }
+            int to = Math.min(from + CHUNK, slots.length);
+            for (int i = from; i < to; i++) {
+                long slot;
+                while ((slot = (long) SLOTS.getAcquire(slots, i)) == EMPTY) {
+                    if (SLOTS.compareAndSet(slots, i, EMPTY, MOVED)) {
+                        break;
+                    }
+                }
+                if (slot != EMPTY && slot != MOVED) {
+                    insert(next, slot);
+                }
+            }
+            if (current.transferred.addAndGet(to - from) == slots.length) {
+                table.compareAndSet(current, next);
+            }
+        }
+    }
+
+    private static long bits(double value) {
+        return Double.doubleToLongBits(value + 0.0);
+    }
+
+    private static int index(long value, int capacity) {
+        return (LongHash.hash(value) * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(capacity - 1);
+    }
+
+    private static class Table {
+        private final long[] slots;
+        private final int threshold;
+        private final AtomicInteger used = new AtomicInteger();
+        private final AtomicInteger transferIndex = new AtomicInteger();
+        private final AtomicInteger transferred = new AtomicInteger();
+        private volatile Table next;
+
+        private Table(int capacity) {
+            slots = new long[capacity];
+            threshold = capacity >> 1;
+        }
+    }
+}
@@ -0,0 +1,932 @@
+package template.egork.generated.collections.set;
+
+import template.egork.generated.collections.IntAbstractStream;
+import template.egork.generated.collections.IntCollection;
+import template.egork.generated.collections.function.IntTask;
+import template.egork.generated.collections.iterator.IntIterator;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Compressed bitmap set in the Roaring layout. Values are split by their upper 16 bits into chunks kept in ascending
+ * order, and every chunk stores its lower halves in whichever container is smallest: a sorted {@code char[]} for up to
+ * 4096 values, a 1024-word bitmap above that, or a list of runs after {@link #runOptimize()} or
+ * {@link #addRange(int, int)}. {@link #and}, {@link #or} and {@link #andNot} combine matching chunks by merging arrays
+ * or by whole-word operations on bitmaps, so dense sets are processed 64 values per instruction.
+ *
+ * {@link #serialize(ByteBuffer)} writes a little-endian layout with a fixed-size header per chunk and 8-byte aligned
+ * payloads, so a mapped file can be queried in place with {@link #contains(ByteBuffer, int)}.
+ */
+public class IntBitmapSet extends IntAbstractStream implements IntSet {
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int WORDS = 1024;
+    private static final int ARRAY = 0;
+    private static final int BITMAP = 1;
+    private static final int RUN = 2;
+    private static final int HEADER = 8;
+    private static final int ENTRY = 16;
+
+    private int[] keys;
+    private Container[] containers;
+    private int count;
+    private int size;
+
+    public IntBitmapSet() {
+        this(4);
+    }
+
+    public IntBitmapSet(IntCollection c) {
+        this();
+        addAll(c);
+    }
+
+    public IntBitmapSet(int[] values) {
+        this();
+        for (int value : values) {
+            add(value);
+        }
+    }
+
+    private IntBitmapSet(int capacity) {
+        keys = new int[Math.max(capacity, 1)];
+        containers = new Container[keys.length];
+    }
+
+    @Override
+    public IntIterator intIterator() {
+        return new IntIterator() {
+            private int index;
+            private int low = count == 0 ? -1 : containers[0].next(0);
+            private boolean removed;
+
+            public int value() throws NoSuchElementException {
+                if (removed) {
+                    throw new IllegalStateException();
+                }
+                if (index >= count) {
+                    throw new NoSuchElementException();
+                }
+                return keys[index] << 16 | low;
+            }
+
+            public boolean advance() {
+                if (!isValid()) {
+                    throw new NoSuchElementException();
+                }
+                removed = false;
+                moveFrom(index, low + 1);
+                return isValid();
+            }
+
+            private void moveFrom(int from, int low) {
+                for (index = from; index < count; index++, low = 0) {
+                    this.low = low > 0xFFFF ? -1 : containers[index].next(low);
+                    if (this.low != -1) {
+                        return;
+                    }
+                }
+            }
+
+            public boolean isValid() {
+                return removed || index < count;
+            }
+
+            public void remove() {
+                int high = keys[index];
+                IntBitmapSet.this.remove(value());
+                removed = true;
+                if (index >= count || keys[index] != high) {
+                    // the chunk is gone and the next one has moved into its place
+                    low = -1;
+                }
+            }
+        };
+    }
+
+    @Override
+    public void forEach(IntTask task) {
+        for (int i = 0; i < count; i++) {
+            containers[i].forEach(keys[i] << 16, task);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int value) {
+        int index = find(value >> 16);
+        return index >= 0 && containers[index].contains(value & 0xFFFF);
+    }
+
+    @Override
+    public void add(int value) {
+        int high = value >> 16;
+        int index = find(high);
+        if (index < 0) {
+            index = -index - 1;
+            insert(index, high, new ArrayContainer());
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        containers[index] = container.add(value & 0xFFFF);
+        size += containers[index].cardinality() - before;
+    }
+
+    /**
+     * Adds every value of {@code [from, to)}; every chunk the range covers fully becomes a single run.
+     */
+    public void addRange(int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int last = to - 1;
+        for (int high = from >> 16; high <= last >> 16; high++) {
+            int start = high == from >> 16 ? from & 0xFFFF : 0;
+            int end = high == last >> 16 ? last & 0xFFFF : 0xFFFF;
+            RunContainer range = new RunContainer(new char[]{(char) start, (char) (end - start)}, 1);
+            int index = find(high);
+            if (index < 0) {
+                insert(-index - 1, high, range);
+                size += range.cardinality();
+            } else {
+                size -= containers[index].cardinality();
+                containers[index] = start == 0 && end == 0xFFFF ? range : or(containers[index], range);
+                size += containers[index].cardinality();
+            }
+        }
+    }
+
+    @Override
+    public boolean remove(int value) {
+        int index = find(value >> 16);
+        if (index < 0) {
+            return false;
+        }
+        Container container = containers[index];
+        int before = container.cardinality();
+        container = container.remove(value & 0xFFFF);
+        if (container.cardinality() == before) {
+            return false;
+        }
+        size--;
+        if (container.cardinality() == 0) {
+            System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+            System.arraycopy(containers, index + 1, containers, index, count - index - 1);
+            containers[--count] = null;
+        } else {
+            containers[index] = container;
+        }
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(containers, 0, count, null);
+        count = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns the values present in both sets.
+     */
+    public IntBitmapSet and(IntBitmapSet other) {
+        IntBitmapSet result = new IntBitmapSet(Math.min(count, other.count));
+        for (int i = 0, j = 0; i < count && j < other.count; ) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.append(keys[i], and(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the values present in at least one of the sets.
+     */
+    public IntBitmapSet or(IntBitmapSet other) {
+        IntBitmapSet result = new IntBitmapSet(count + other.count);
+        int i = 0;
+        int j = 0;
+        while (i < count || j < other.count) {
+            if (j == other.count || i < count && keys[i] < other.keys[j]) {
+                result.append(keys[i], containers[i].copy());
+                i++;
+            } else if (i == count || keys[i] > other.keys[j]) {
+                result.append(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.append(keys[i], or(containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the values of this set that are not in {@code other}.
+     */
+    public IntBitmapSet andNot(IntBitmapSet other) {
+        IntBitmapSet result = new IntBitmapSet(count);
+        for (int i = 0, j = 0; i < count; i++) {
+            while (j < other.count && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.count && other.keys[j] == keys[i]) {
+                result.append(keys[i], andNot(containers[i], other.containers[j]));
+            } else {
+                result.append(keys[i], containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Size of {@code and(other)}, computed without building it.
+     */
+    public int andCardinality(IntBitmapSet other) {
+        int result = 0;
+        for (int i = 0, j = 0; i < count && j < other.count; ) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result += andCardinality(containers[i], other.containers[j]);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Replaces every container that would be smaller as a list of runs with one.
+     */
+    public void runOptimize() {
+        for (int i = 0; i < count; i++) {
+            if (!(containers[i] instanceof RunContainer)) {
+                long[] words = containers[i].words();
+                int runs = runCount(words);
+                if (4 + 4 * runs < containers[i].payloadSize()) {
+                    containers[i] = RunContainer.of(words, runs);
+                }
+            }
+        }
+    }
+
+    public int serializedSize() {
+        int position = HEADER + ENTRY * count;
+        for (int i = 0; i < count; i++) {
+            position = align(position) + containers[i].payloadSize();
+        }
+        return position;
+    }
+
+    /**
+     * Writes the set at the buffer's position and moves the position past it. Layout, all little-endian: the number of
+     * chunks and the total size as two ints, then for every chunk its upper 16 bits, container type, cardinality and
+     * payload offset from the start as four ints, then the payloads, each starting at an offset divisible by 8: sorted
+     * {@code char}s for an array, 1024 {@code long}s for a bitmap, and the number of runs as an int followed by
+     * (start, length - 1) {@code char} pairs for runs.
+     */
+    public void serialize(ByteBuffer buffer) {
+        ByteBuffer data = littleEndian(buffer);
+        int base = buffer.position();
+        data.putInt(base, count);
+        data.putInt(base + 4, size);
+        int position = HEADER + ENTRY * count;
+        for (int i = 0; i < count; i++) {
+            position = align(position);
+            int entry = base + HEADER + ENTRY * i;
+            data.putInt(entry, keys[i]);
+            data.putInt(entry + 4, containers[i].type());
+            data.putInt(entry + 8, containers[i].cardinality());
+            data.putInt(entry + 12, position);
+            containers[i].write(data, base + position);
+            position += containers[i].payloadSize();
+        }
+        buffer.position(base + position);
+    }
+
+    /**
+     * Reads a set written by {@link #serialize(ByteBuffer)} at the buffer's position and moves the position past it.
+     */
+    public static IntBitmapSet deserialize(ByteBuffer buffer) {
+        ByteBuffer data = littleEndian(buffer);
+        int base = buffer.position();
+        int count = data.getInt(base);
+        IntBitmapSet result = new IntBitmapSet(count);
+        int end = HEADER + ENTRY * count;
+        for (int i = 0; i < count; i++) {
+            int entry = base + HEADER + ENTRY * i;
+            int type = data.getInt(entry + 4);
+            int cardinality = data.getInt(entry + 8);
+            int offset = data.getInt(entry + 12);
+            Container container;
+            if (type == ARRAY) {
+                container = ArrayContainer.read(data, base + offset, cardinality);
+            } else if (type == BITMAP) {
+                container = BitmapContainer.read(data, base + offset, cardinality);
+            } else {
+                container = RunContainer.read(data, base + offset, cardinality);
+            }
+            result.append(data.getInt(entry), container);
+            end = offset + container.payloadSize();
+        }
+        buffer.position(base + end);
+        return result;
+    }
+
+    /**
+     * Membership test straight on serialized data at the buffer's position, for example a mapped file, without
+     * reading the set into memory.
+     */
+    public static boolean contains(ByteBuffer buffer, int value) {
+        ByteBuffer data = littleEndian(buffer);
+        int base = buffer.position();
+        int high = value >> 16;
+        int low = value & 0xFFFF;
+        int left = 0;
+        int right = data.getInt(base) - 1;
+        while (left <= right) {
+            int middle = (left + right) >>> 1;
+            int entry = base + HEADER + ENTRY * middle;
+            int key = data.getInt(entry);
+            if (key < high) {
+                left = middle + 1;
+            } else if (key > high) {
+                right = middle - 1;
+            } else {
+                int type = data.getInt(entry + 4);
+                int payload = base + data.getInt(entry + 12);
+                if (type == ARRAY) {
+                    return searchChars(data, payload, 0, data.getInt(entry + 8), 2, low) >= 0;
+                }
+                if (type == BITMAP) {
+                    return (data.getLong(payload + 8 * (low >>> 6)) >>> low & 1) != 0;
+                }
+                int run = searchChars(data, payload + 4, 0, data.getInt(payload), 4, low);
+                if (run < 0) {
+                    run = -run - 2;
+                }
+                return run >= 0 && low - data.getChar(payload + 4 + 4 * run) <= data.getChar(payload + 6 + 4 * run);
+            }
+        }
+        return false;
+    }
+
+    private static ByteBuffer littleEndian(ByteBuffer buffer) {
+        return buffer.order() == ByteOrder.LITTLE_ENDIAN ? buffer : buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static int searchChars(ByteBuffer data, int at, int from, int to, int stride, int key) {
+        to--;
+        while (from <= to) {
+            int middle = (from + to) >>> 1;
+            int value = data.getChar(at + stride * middle);
+            if (value < key) {
+                from = middle + 1;
+            } else if (value > key) {
+                to = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(from + 1);
+    }
+
+    private static int align(int position) {
+        return (position + 7) & -8;
+    }
+
+    private int find(int high) {
+        return Arrays.binarySearch(keys, 0, count, high);
+    }
+
+    private void insert(int index, int high, Container container) {
+        ensureCapacity(count + 1);
+        System.arraycopy(keys, index, keys, index + 1, count - index);
+        System.arraycopy(containers, index, containers, index + 1, count - index);
+        keys[index] = high;
+        containers[index] = container;
+        count++;
+    }
+
+    private void append(int high, Container container) {
+        if (container.cardinality() == 0) {
+            return;
+        }
+        ensureCapacity(count + 1);
+        keys[count] = high;
+        containers[count++] = container;
+        size += container.cardinality();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (keys.length < capacity) {
+            capacity = Math.max(capacity, 2 * keys.length);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+    }
+
+    private static Container and(Container a, Container b) {
+        if (a instanceof ArrayContainer) {
+            return filter((ArrayContainer) a, b, true);
+        }
+        if (b instanceof ArrayContainer) {
+            return filter((ArrayContainer) b, a, true);
+        }
+        long[] x = a.words();
+        long[] y = b.words();
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = x[i] & y[i];
+        }
+        return fromWords(result);
+    }
+
+    private static Container or(Container a, Container b) {
+        if (a instanceof ArrayContainer && b instanceof ArrayContainer &&
+                a.cardinality() + b.cardinality() <= ARRAY_LIMIT) {
+            return ((ArrayContainer) a).merge((ArrayContainer) b);
+        }
+        long[] x = a.words();
+        long[] y = b.words();
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = x[i] | y[i];
+        }
+        return fromWords(result);
+    }
+
+    private static Container andNot(Container a, Container b) {
+        if (a instanceof ArrayContainer) {
+            return filter((ArrayContainer) a, b, false);
+        }
+        long[] x = a.words();
+        long[] y = b.words();
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = x[i] & ~y[i];
+        }
+        return fromWords(result);
+    }
+
+    private static int andCardinality(Container a, Container b) {
+        if (a instanceof ArrayContainer || b instanceof ArrayContainer) {
+            ArrayContainer array = (ArrayContainer) (a instanceof ArrayContainer ? a : b);
+            Container other = array == a ? b : a;
+            int result = 0;
+            for (int i = 0; i < array.cardinality; i++) {
+                if (other.contains(array.values[i])) {
+                    result++;
+                }
+            }
+            return result;
+        }
+        long[] x = a.words();
+        long[] y = b.words();
+        int result = 0;
+        for (int i = 0; i < WORDS; i++) {
+            result += Long.bitCount(x[i] & y[i]);
+        }
+        return result;
+    }
+
+    private static Container filter(ArrayContainer a, Container b, boolean keep) {
+        char[] values = new char[a.cardinality];
+        int cardinality = 0;
+        for (int i = 0; i < a.cardinality; i++) {
+            if (b.contains(a.values[i]) == keep) {
+                values[cardinality++] = a.values[i];
+            }
+        }
+        return new ArrayContainer(values, cardinality);
+    }
+
+    private static Container fromWords(long[] words) {
+        int cardinality = 0;
+        for (long word : words) {
+            cardinality += Long.bitCount(word);
+        }
+        if (cardinality > ARRAY_LIMIT) {
+            return new BitmapContainer(words, cardinality);
+        }
+        char[] values = new char[cardinality];
+        int at = 0;
+        for (int i = 0; i < WORDS; i++) {
+            for (long word = words[i]; word != 0; word &= word - 1) {
+                values[at++] = (char) (i << 6 | Long.numberOfTrailingZeros(word));
+            }
+        }
+        return new ArrayContainer(values, cardinality);
+    }
+
+    private static int runCount(long[] words) {
+        int runs = 0;
+        long carry = 0;
+        for (long word : words) {
+            runs += Long.bitCount(word & ~(word << 1 | carry));
+            carry = word >>> 63;
+        }
+        return runs;
+    }
+
+    private static abstract class Container {
+        abstract int type();
+
+        abstract int cardinality();
+
+        abstract boolean contains(int low);
+
+        /**
+         * Returns the container holding the old values and {@code low}: this one or a converted copy.
+         */
+        abstract Container add(int low);
+
+        abstract Container remove(int low);
+
+        /**
+         * Smallest value not below {@code from}, or -1.
+         */
+        abstract int next(int from);
+
+        abstract void forEach(int base, IntTask task);
+
+        /**
+         * Values as 1024 bitmap words; may be the container's own storage, so callers must not modify it.
+         */
+        abstract long[] words();
+
+        abstract Container copy();
+
+        abstract int payloadSize();
+
+        abstract void write(ByteBuffer data, int at);
+    }
+
+    private static class ArrayContainer extends Container {
+        private char[] values;
+        private int cardinality;
+
+        private ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        private ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        int type() {
+            return ARRAY;
+        }
+
+        int cardinality() {
+            return cardinality;
+        }
+
+        boolean contains(int low) {
+            return Arrays.binarySearch(values, 0, cardinality, (char) low) >= 0;
+        }
+
+        Container add(int low) {
+            int position = Arrays.binarySearch(values, 0, cardinality, (char) low);
+            if (position >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                return new BitmapContainer(words(), cardinality).add(low);
+            }
+            position = -position - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(2 * values.length, ARRAY_LIMIT));
+            }
+            System.arraycopy(values, position, values, position + 1, cardinality - position);
+            values[position] = (char) low;
+            cardinality++;
+            return this;
+        }
+
+        Container remove(int low) {
+            int position = Arrays.binarySearch(values, 0, cardinality, (char) low);
+            if (position >= 0) {
+                System.arraycopy(values, position + 1, values, position, cardinality - position - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        int next(int from) {
+            int position = Arrays.binarySearch(values, 0, cardinality, (char) from);
+            if (position < 0) {
+                position = -position - 1;
+            }
+            return position < cardinality ? values[position] : -1;
+        }
+
+        void forEach(int base, IntTask task) {
+            for (int i = 0; i < cardinality; i++) {
+                task.process(base | values[i]);
+            }
+        }
+
+        long[] words() {
+            long[] words = new long[WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return words;
+        }
+
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, cardinality), cardinality);
+        }
+
+        ArrayContainer merge(ArrayContainer other) {
+            char[] result = new char[cardinality + other.cardinality];
+            int size = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < other.cardinality) {
+                if (j == other.cardinality || i < cardinality && values[i] < other.values[j]) {
+                    result[size++] = values[i++];
+                } else if (i == cardinality || values[i] > other.values[j]) {
+                    result[size++] = other.values[j++];
+                } else {
+                    result[size++] = values[i++];
+                    j++;
+                }
+            }
+            return new ArrayContainer(result, size);
+        }
+
+        int payloadSize() {
+            return 2 * cardinality;
+        }
+
+        void write(ByteBuffer data, int at) {
+            for (int i = 0; i < cardinality; i++) {
+                data.putChar(at + 2 * i, values[i]);
+            }
+        }
+
+        static ArrayContainer read(ByteBuffer data, int at, int cardinality) {
+            char[] values = new char[cardinality];
+            for (int i = 0; i < cardinality; i++) {
+                values[i] = data.getChar(at + 2 * i);
+            }
+            return new ArrayContainer(values, cardinality);
+        }
+    }
+
+    private static class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        int type() {
+            return BITMAP;
+        }
+
+        int cardinality() {
+            return cardinality;
+        }
+
+        boolean contains(int low) {
+            return (words[low >>> 6] >>> low & 1) != 0;
+        }
+
+        Container add(int low) {
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) == 0) {
+                words[low >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        Container remove(int low) {
+            long bit = 1L << low;
+            if ((words[low >>> 6] & bit) == 0) {
+                return this;
+            }
+            words[low >>> 6] &= ~bit;
+            cardinality--;
+            return cardinality <= ARRAY_LIMIT ? fromWords(words) : this;
+        }
+
+        int next(int from) {
+            int index = from >>> 6;
+            long word = words[index] & -1L << from;
+            while (word == 0) {
+                if (++index == WORDS) {
+                    return -1;
+                }
+                word = words[index];
+            }
+            return index << 6 | Long.numberOfTrailingZeros(word);
+        }
+
+        void forEach(int base, IntTask task) {
+            for (int i = 0; i < WORDS; i++) {
+                for (long word = words[i]; word != 0; word &= word - 1) {
+                    task.process(base | i << 6 | Long.numberOfTrailingZeros(word));
+                }
+            }
+        }
+
+        long[] words() {
+            return words;
+        }
+
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        int payloadSize() {
+            return 8 * WORDS;
+        }
+
+        void write(ByteBuffer data, int at) {
+            for (int i = 0; i < WORDS; i++) {
+                data.putLong(at + 8 * i, words[i]);
+            }
+        }
+
+        static BitmapContainer read(ByteBuffer data, int at, int cardinality) {
+            long[] words = new long[WORDS];
+            for (int i = 0; i < WORDS; i++) {
+                words[i] = data.getLong(at + 8 * i);
+            }
+            return new BitmapContainer(words, cardinality);
+        }
+    }
+
+    /**
+     * Sorted disjoint runs stored as (start, length - 1) pairs. Runs are only created in bulk; a single
+     * {@link #add(int)} or {@link #remove(int)} that changes the set turns the container back into an array or a bitmap.
+     */
+    private static class RunContainer extends Container {
+        private final char[] runs;
+        private final int runCount;
+        private final int cardinality;
+
+        private RunContainer(char[] runs, int runCount) {
+            this.runs = runs;
+            this.runCount = runCount;
+            int cardinality = 0;
+            for (int i = 0; i < runCount; i++) {
+                cardinality += runs[2 * i + 1] + 1;
+            }
+            this.cardinality = cardinality;
+        }
+
+        int type() {
+            return RUN;
+        }
+
+        int cardinality() {
+            return cardinality;
+        }
+
+        /**
+         * Index of the last run starting at or before {@code low}, or -1.
+         */
+        private int find(int low) {
+            int left = 0;
+            int right = runCount - 1;
+            while (left <= right) {
+                int middle = (left + right) >>> 1;
+                if (runs[2 * middle] <= low) {
+                    left = middle + 1;
+                } else {
+                    right = middle - 1;
+                }
+            }
+            return right;
+        }
+
+        boolean contains(int low) {
+            int run = find(low);
+            return run >= 0 && low - runs[2 * run] <= runs[2 * run + 1];
+        }
+
+        Container add(int low) {
+            return contains(low) ? this : fromWords(words()).add(low);
+        }
+
+        Container remove(int low) {
+            return contains(low) ? fromWords(words()).remove(low) : this;
+        }
+
+        int next(int from) {
+            int run = find(from);
+            if (run >= 0 && from - runs[2 * run] <= runs[2 * run + 1]) {
+                return from;
+            }
+            return run + 1 < runCount ? runs[2 * run + 2] : -1;
+        }
+
+        void forEach(int base, IntTask task) {
+            for (int i = 0; i < runCount; i++) {
+                for (int low = runs[2 * i], end = low + runs[2 * i + 1]; low <= end; low++) {
+                    task.process(base | low);
+                }
+            }
+        }
+
+        long[] words() {
+            long[] words = new long[WORDS];
+            for (int i = 0; i < runCount; i++) {
+                int start = runs[2 * i];
+                int end = start + runs[2 * i + 1];
+                for (int word = start >>> 6; word <= end >>> 6; word++) {
+                    long mask = -1L;
+                    if (word == start >>> 6) {
+                        mask &= -1L << start;
+                    }
+                    if (word == end >>> 6) {
+                        mask &= -1L >>> (63 - (end & 63));
+                    }
+                    words[word] |= mask;
+                }
+            }
+            return words;
+        }
+
+        Container copy() {
+            return this;
+        }
+
+        int payloadSize() {
+            return 4 + 4 * runCount;
+        }
+
+        void write(ByteBuffer data, int at) {
+            data.putInt(at, runCount);
+            for (int i = 0; i < 2 * runCount; i++) {
+                data.putChar(at + 4 + 2 * i, runs[i]);
+            }
+        }
+
+        static RunContainer read(ByteBuffer data, int at, int cardinality) {
+            int runCount = data.getInt(at);
+            char[] runs = new char[2 * runCount];
+            for (int i = 0; i < runs.length; i++) {
+                runs[i] = data.getChar(at + 4 + 2 * i);
+            }
+            return new RunContainer(runs, runCount);
+        }
+
+        static RunContainer of(long[] words, int runCount) {
+            char[] runs = new char[2 * runCount];
+            int run = 0;
+            int position = 0;
+            while (run < runCount) {
+                int start = nextBit(words, position, false);
+                int end = nextBit(words, start, true);
+                runs[2 * run] = (char) start;
+                runs[2 * run + 1] = (char) (end - 1 - start);
+                run++;
+                position = end;
+            }
+            return new RunContainer(runs, runCount);
+        }
+
+        /**
+         * First position at or after {@code from} holding a set bit, or a clear bit if {@code clear} is true; 65536 if
+         * there is none.
+         */
+        private static int nextBit(long[] words, int from, boolean clear) {
+            if (from >= WORDS << 6) {
+                return WORDS << 6;
+            }
+            int index = from >>> 6;
+            long word = (clear ? ~words[index] : words[index]) & -1L << from;
+            while (word == 0) {
+                if (++index == WORDS) {
+                    return WORDS << 6;
+                }
+                word = clear ? ~words[index] : words[index];
+            }
+            return index << 6 | Long.numberOfTrailingZeros(word);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package template.egork.generated.collections.set;
+
+import template.egork.generated.collections.IntAbstractStream;
+import template.egork.generated.collections.IntCollection;
+import template.egork.generated.collections.hashing.IntHash;
+import template.egork.generated.collections.iterator.IntIterator;
+import template.egork.generated.collections.list.IntArray;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free insert-only hash set, safe to share between threads. Slots of the linear-probe table are claimed with a
+ * single CAS. When the table fills up, a table of twice the size is attached to it and every thread that runs into the
+ * old one helps to copy it chunk by chunk: empty slots of the old table are sealed with {@code MOVED}, so late writers
+ * fail their CAS and continue in the new table, while {@link #contains(int)} never waits or retries and just follows
+ * {@code MOVED} slots to the next table. Values that collide with the two reserved slot markers are kept in a separate
+ * bit mask.
+ *
+ * Removal is not supported; iteration works on a snapshot.
+ */
+public class IntConcurrentHashSet extends IntAbstractStream implements IntSet {
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final int EMPTY = 0;
+    private static final int MOVED = Integer.MIN_VALUE;
+    private static final int EMPTY_PRESENT = 1;
+    private static final int MOVED_PRESENT = 2;
+    private static final int CHUNK = 1024;
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            NEXT = MethodHandles.lookup().findVarHandle(Table.class, "next", Table.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final AtomicReference<Table> table;
+    private final AtomicInteger specials = new AtomicInteger();
+    private final LongAdder size = new LongAdder();
+
+    public IntConcurrentHashSet() {
+        this(16);
+    }
+
+    public IntConcurrentHashSet(int capacity) {
+        table = new AtomicReference<>(new Table(Integer.highestOneBit(Math.max(capacity, 8) * 2 - 1) * 2));
+    }
+
+    public IntConcurrentHashSet(IntCollection c) {
+        this(c.size());
+        addAll(c);
+    }
+
+    @Override
+    public IntIterator intIterator() {
+        IntHashSet snapshot = new IntHashSet();
+        for (Table current = table.get(); current != null; current = current.next) {
+            for (int i = 0; i < current.slots.length; i++) {
+                int slot = (int) SLOTS.getAcquire(current.slots, i);
+                if (slot != EMPTY && slot != MOVED) {
+                    snapshot.add(slot);
+                }
+            }
+        }
+        if ((specials.get() & EMPTY_PRESENT) != 0) {
+            snapshot.add(EMPTY);
+        }
+        if ((specials.get() & MOVED_PRESENT) != 0) {
+            snapshot.add(MOVED);
+        }
+        return new IntArray(snapshot.toArray()).intIterator();
+    }
+
+    @Override
+    public int size() {
+        return size.intValue();
+    }
+
+    @Override
+    public void add(int value) {
+        addIfAbsent(value);
+    }
+
+    /**
+     * @return {@code true} if this call inserted {@code value}, {@code false} if it was already present
+     */
+    public boolean addIfAbsent(int value) {
+        if (value == EMPTY || value == MOVED) {
+            int bit = value == EMPTY ? EMPTY_PRESENT : MOVED_PRESENT;
+            if ((specials.getAndUpdate(mask -> mask | bit) & bit) != 0) {
+                return false;
+            }
+            size.increment();
+            return true;
+        }
+        if (insert(table.get(), value)) {
+            size.increment();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(int value) {
+        if (value == EMPTY) {
+            return (specials.get() & EMPTY_PRESENT) != 0;
+        }
+        if (value == MOVED) {
+            return (specials.get() & MOVED_PRESENT) != 0;
+        }
+        Table current = table.get();
+        while (current != null) {
+            int[] slots = current.slots;
+            int mask = slots.length - 1;
+            int index = index(value, slots.length);
+            boolean moved = false;
+            for (int probe = 0; probe <= mask; probe++) {
+                int slot = (int) SLOTS.getAcquire(slots, index);
+                if (slot == value) {
+                    return true;
+                }
+                if (slot == EMPTY) {
+                    return false;
+                }
+                if (slot == MOVED) {
+                    moved = true;
+                    break;
+                }
+                index = (index + 1) & mask;
+            }
+            if (!moved && current.next == null) {
+                return false;
+            }
+            current = current.next;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean remove(int value) {
+        throw new UnsupportedOperationException();
+    }
+
+    private boolean insert(Table current, int value) {
+        while (true) {
+            int[] slots = current.slots;
+            int mask = slots.length - 1;
+            int index = index(value, slots.length);
+            boolean moved = false;
+            for (int probe = 0; probe <= mask; ) {
+                int slot = (int) SLOTS.getAcquire(slots, index);
+                if (slot == value) {
+                    return false;
+                }
+                if (slot == EMPTY) {
+                    if (SLOTS.compareAndSet(slots, index, EMPTY, value)) {
+                        if (current.used.incrementAndGet() > current.threshold) {
+                            transfer(current);
+                        }
+                        return true;
+                    }
+                    continue;
+                }
+                if (slot == MOVED) {
+                    moved = true;
+                    break;
+                }
+                index = (index + 1) & mask;
+                probe++;
+            }
+            if (!moved && current.next == null) {
+                transfer(current);
+            } else if (current.next != null) {
+                helpTransfer(current);
+            }
+            current = current.next;
+        }
+    }
+
+    private void transfer(Table current) {
+        if (current.next == null) {
+            NEXT.compareAndSet(current, null, new Table(current.slots.length * 2));
+        }
+        helpTransfer(current);
+    }
+
+    private void helpTransfer(Table current) {
+        Table next = current.next;
+        int[] slots = current.slots;
+        while (current.transferIndex.get() < slots.length) {
+            int from = current.transferIndex.getAndAdd(CHUNK);
+            if (from >= slots.length) {
+                return;
+            }
+            int to = Math.min(from + CHUNK, slots.length);
+            for (int i = from; i < to; i++) {
+                int slot;
+                while ((slot = (int) SLOTS.getAcquire(slots, i)) == EMPTY) {
+                    if (SLOTS.compareAndSet(slots, i, EMPTY, MOVED)) {
+                        break;
+                    }
+                }
+                if (slot != EMPTY && slot != MOVED) {
+                    insert(next, slot);
+                }
+            }
+            if (current.transferred.addAndGet(to - from) == slots.length) {
+                table.compareAndSet(current, next);
+            }
+        }
+    }
+
+    private static int index(int value, int capacity) {
+        return (IntHash.hash(value) * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(capacity - 1);
+    }
+
+    private static class Table {
+        private final int[] slots;
+        private final int threshold;
+        private final AtomicInteger used = new AtomicInteger();
+        private final AtomicInteger transferIndex = new AtomicInteger();
+        private final AtomicInteger transferred = new AtomicInteger();
+        private volatile Table next;
+
+        private Table(int capacity) {
+            slots = new int[capacity];
+            threshold = capacity >> 1;
+        }
+    }
+}
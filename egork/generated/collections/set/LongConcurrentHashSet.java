@@ -0,0 +1,235 @@
+package template.egork.generated.collections.set;
+
+import template.egork.generated.collections.LongAbstractStream;
+import template.egork.generated.collections.LongCollection;
+import template.egork.generated.collections.hashing.LongHash;
+import template.egork.generated.collections.iterator.LongIterator;
+import template.egork.generated.collections.list.LongArray;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free insert-only hash set, safe to share between threads. Slots of the linear-probe table are claimed with a
+ * single CAS. When the table fills up, a table of twice the size is attached to it and every thread that runs into the
+ * old one helps to copy it chunk by chunk: empty slots of the old table are sealed with {@code MOVED}, so late writers
+ * fail their CAS and continue in the new table, while {@link #contains(long)} never waits or retries and just follows
+ * {@code MOVED} slots to the next table. Values that collide with the two reserved slot markers are kept in a separate
+ * bit mask.
+ *
+ * Removal is not supported; iteration works on a snapshot.
+ */
+public class LongConcurrentHashSet extends LongAbstractStream implements LongSet {
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final long EMPTY = 0;
+    private static final long MOVED = Long.MIN_VALUE;
+    private static final int EMPTY_PRESENT = 1;
+    private static final int MOVED_PRESENT = 2;
+    private static final int CHUNK = 1024;
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            NEXT = MethodHandles.lookup().findVarHandle(Table.class, "next", Table.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final AtomicReference<Table> table;
+    private final AtomicInteger specials = new AtomicInteger();
+    private final LongAdder size = new LongAdder();
+
+    public LongConcurrentHashSet() {
+        this(16);
+    }
+
+    public LongConcurrentHashSet(int capacity) {
+        table = new AtomicReference<>(new Table(Integer.highestOneBit(Math.max(capacity, 8) * 2 - 1) * 2));
+    }
+
+    public LongConcurrentHashSet(LongCollection c) {
+        this(c.size());
+        addAll(c);
+    }
+
+    @Override
+    public LongIterator longIterator() {
+        LongHashSet snapshot = new LongHashSet();
+        for (Table current = table.get(); current != null; current = current.next) {
+            for (int i = 0; i < current.slots.length; i++) {
+                long slot = (long) SLOTS.getAcquire(current.slots, i);
+                if (slot != EMPTY && slot != MOVED) {
+                    snapshot.add(slot);
+                }
+            }
+        }
+        if ((specials.get() & EMPTY_PRESENT) != 0) {
+            snapshot.add(EMPTY);
+        }
+        if ((specials.get() & MOVED_PRESENT) != 0) {
+            snapshot.add(MOVED);
+        }
+        return new LongArray(snapshot.toArray()).longIterator();
+    }
+
+    @Override
+    public int size() {
+        return size.intValue();
+    }
+
+    @Override
+    public void add(long value) {
+        addIfAbsent(value);
+    }
+
+    /**
+     * @return {@code true} if this call inserted {@code value}, {@code false} if it was already present
+     */
+    public boolean addIfAbsent(long value) {
+        if (value == EMPTY || value == MOVED) {
+            int bit = value == EMPTY ? EMPTY_PRESENT : MOVED_PRESENT;
+            if ((specials.getAndUpdate(mask -> mask | bit) & bit) != 0) {
+                return false;
+            }
+            size.increment();
+            return true;
+        }
+        if (insert(table.get(), value)) {
+            size.increment();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return (specials.get() & EMPTY_PRESENT) != 0;
+        }
+        if (value == MOVED) {
+            return (specials.get() & MOVED_PRESENT) != 0;
+        }
+        Table current = table.get();
+        while (current != null) {
+            long[] slots = current.slots;
+            int mask = slots.length - 1;
+            int index = index(value, slots.length);
+            boolean moved = false;
+            for (int probe = 0; probe <= mask; probe++) {
+                long slot = (long) SLOTS.getAcquire(slots, index);
+                if (slot == value) {
+                    return true;
+                }
+                if (slot == EMPTY) {
+                    return false;
+                }
+                if (slot == MOVED) {
+                    moved = true;
+                    break;
+                }
+                index = (index + 1) & mask;
+            }
+            if (!moved && current.next == null) {
+                return false;
+            }
+            current = current.next;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean remove(long value) {
+        throw new UnsupportedOperationException();
+    }
+
+    private boolean insert(Table current, long value) {
+        while (true) {
+            long[] slots = current.slots;
+            int mask = slots.length - 1;
+            int index = index(value, slots.length);
+            boolean moved = false;
+            for (int probe = 0; probe <= mask; ) {
+                long slot = (long) SLOTS.getAcquire(slots, index);
+                if (slot == value) {
+                    return false;
+                }
+                if (slot == EMPTY) {
+                    if (SLOTS.compareAndSet(slots, index, EMPTY, value)) {
+                        if (current.used.incrementAndGet() > current.threshold) {
+                            transfer(current);
+                        }
+                        return true;
+                    }
+                    continue;
+                }
+                if (slot == MOVED) {
+                    moved = true;
+                    break;
+                }
+                index = (index + 1) & mask;
+                probe++;
+            }
+            if (!moved && current.next == null) {
+                transfer(current);
+            } else if (current.next != null) {
+                helpTransfer(current);
+            }
+            current = current.next;
+        }
+    }
+
+    private void transfer(Table current) {
+        if (current.next == null) {
+            NEXT.compareAndSet(current, null, new Table(current.slots.length * 2));
+        }
+        helpTransfer(current);
+    }
+
+    private void helpTransfer(Table current) {
+        Table next = current.next;
+        long[] slots = current.slots;
+        while (current.transferIndex.get() < slots.length) {
+            int from = current.transferIndex.getAndAdd(CHUNK);
+            if (from >= slots.length) {
+                return;
+            }
+            int to = Math.min(from + CHUNK, slots.length);
+            for (int i = from; i < to; i++) {
+                long slot;
+                while ((slot = (long) SLOTS.getAcquire(slots, i)) == EMPTY) {
+                    if (SLOTS.compareAndSet(slots, i, EMPTY, MOVED)) {
+                        break;
+                    }
+                }
+                if (slot != EMPTY && slot != MOVED) {
+                    insert(next, slot);
+                }
+            }
+            if (current.transferred.addAndGet(to - from) == slots.length) {
+                table.compareAndSet(current, next);
+            }
+        }
+    }
+
+    private static int index(long value, int capacity) {
+        return (LongHash.hash(value) * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(capacity - 1);
+    }
+
+    private static class Table {
+        private final long[] slots;
+        private final int threshold;
+        private final AtomicInteger used = new AtomicInteger();
+        private final AtomicInteger transferIndex = new AtomicInteger();
+        private final AtomicInteger transferred = new AtomicInteger();
+        private volatile Table next;
+
+        private Table(int capacity) {
+            slots = new long[capacity];
+            threshold = capacity >> 1;
+        }
+    }
+}
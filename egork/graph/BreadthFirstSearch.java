@@ -0,0 +1,200 @@
+package template.egork.graph;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Level-synchronous breadth-first search from one or more sources that switches between top-down and bottom-up steps
+ * (Beamer, Asanovic, Patterson). A top-down step scans the outbound edges of the frontier, kept as a vertex list, and
+ * claims undiscovered vertices with a CAS on their distance. Once the frontier's edges outnumber the edges that are
+ * still unexplored by a factor of {@code 1 / ALPHA}, steps go bottom-up: every undiscovered vertex scans its inbound
+ * edges until it finds a parent in the frontier bitmap, which needs no atomics at all, as every vertex is owned by one
+ * block. When the frontier shrinks below {@code vertexCount / BETA} the search goes back to top-down.
+ *
+ * Both kinds of steps are split into blocks on the common fork-join pool. Unreached vertices have distance and parent
+ * -1, and so do the sources' parents.
+ */
+public class BreadthFirstSearch {
+    private static final VarHandle DISTANCE = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+
+    public final int[] distance;
+    public final int[] parent;
+
+    private final CSRGraph graph;
+    private final int vertexCount;
+    private final int blocks;
+    private final int[][] output;
+    private final int[] outputSize;
+    private final long[] outputEdges;
+    private int[] queue;
+    private int queueSize;
+    private long[] frontier;
+    private long[] next;
+
+    public BreadthFirstSearch(Graph graph, int... sources) {
+        this(graph.freeze(), sources);
+    }
+
+    public BreadthFirstSearch(CSRGraph graph, int... sources) {
+        this.graph = graph;
+        vertexCount = graph.vertexCount();
+        distance = new int[vertexCount];
+        parent = new int[vertexCount];
+        Arrays.fill(distance, -1);
+        Arrays.fill(parent, -1);
+        blocks = ParallelBlocks.count();
+        output = new int[blocks][16];
+        outputSize = new int[blocks];
+        outputEdges = new long[blocks];
+        queue = new int[sources.length];
+        long frontierEdges = 0;
+        for (int source : sources) {
+            if (distance[source] == -1) {
+                distance[source] = 0;
+                queue[queueSize++] = source;
+                frontierEdges += graph.outboundCount(source);
+            }
+        }
+        search(frontierEdges);
+    }
+
+    private void search(long frontierEdges) {
+        long unexplored = graph.edgeCount() - frontierEdges;
+        int frontierSize = queueSize;
+        boolean bottomUp = false;
+        for (int level = 1; frontierSize > 0; level++) {
+            int previousSize = frontierSize;
+            if (!bottomUp && frontierEdges > unexplored / ALPHA) {
+                bottomUp = true;
+                toBitmap();
+            }
+            if (bottomUp) {
+                bottomUpStep(level);
+            } else {
+                topDownStep(level);
+            }
+            frontierSize = 0;
+            frontierEdges = 0;
+            for (int i = 0; i < blocks; i++) {
+                frontierSize += outputSize[i];
+                frontierEdges += outputEdges[i];
+            }
+            unexplored -= frontierEdges;
+            if (bottomUp) {
+                long[] temp = frontier;
+                frontier = next;
+                next = temp;
+                if (frontierSize < previousSize && frontierSize < vertexCount / BETA) {
+                    bottomUp = false;
+                    fromBitmap(frontierSize);
+                }
+            } else {
+                collect(frontierSize);
+            }
+        }
+    }
+
+    private void topDownStep(int level) {
+        int[] queue = this.queue;
+        int size = queueSize;
+        int count = size < ParallelBlocks.SEQUENTIAL_FRONTIER ? 1 : blocks;
+        clearOutput();
+        ParallelBlocks.run(count, block -> {
+            int[] result = output[block];
+            int resultSize = 0;
+            long edges = 0;
+            for (int i = (int) ((long) size * block / count); i < (int) ((long) size * (block + 1) / count); i++) {
+                int current = queue[i];
+                for (int id = graph.outboundStart(current), end = graph.outboundEnd(current); id < end; id++) {
+                    int vertex = graph.destination(id);
+                    if (distance[vertex] == -1 && DISTANCE.compareAndSet(distance, vertex, -1, level)) {
+                        parent[vertex] = current;
+                        if (resultSize == result.length) {
+                            result = Arrays.copyOf(result, 2 * resultSize);
+                            output[block] = result;
+                        }
+                        result[resultSize++] = vertex;
+                        edges += graph.outboundCount(vertex);
+                    }
+                }
+            }
+            outputSize[block] = resultSize;
+            outputEdges[block] = edges;
+        });
+    }
+
+    private void bottomUpStep(int level) {
+        CSRGraph inbound = graph.transpose();
+        long[] frontier = this.frontier;
+        long[] next = this.next;
+        Arrays.fill(next, 0);
+        int words = next.length;
+        clearOutput();
+        ParallelBlocks.run(blocks, block -> {
+            int size = 0;
+            long edges = 0;
+            int to = Math.min(vertexCount, (int) ((long) words * (block + 1) / blocks) << 6);
+            for (int vertex = (int) ((long) words * block / blocks) << 6; vertex < to; vertex++) {
+                if (distance[vertex] != -1) {
+                    continue;
+                }
+                for (int id = inbound.outboundStart(vertex), end = inbound.outboundEnd(vertex); id < end; id++) {
+                    int candidate = inbound.destination(id);
+                    if ((frontier[candidate >>> 6] >>> candidate & 1) != 0) {
+                        distance[vertex] = level;
+                        parent[vertex] = candidate;
+                        next[vertex >>> 6] |= 1L << vertex;
+                        size++;
+                        edges += graph.outboundCount(vertex);
+                        break;
+                    }
+                }
+            }
+            outputSize[block] = size;
+            outputEdges[block] = edges;
+        });
+    }
+
+    private void toBitmap() {
+        if (frontier == null) {
+            frontier = new long[(vertexCount + 63) >>> 6];
+            next = new long[frontier.length];
+        } else {
+            Arrays.fill(frontier, 0);
+        }
+        for (int i = 0; i < queueSize; i++) {
+            frontier[queue[i] >>> 6] |= 1L << queue[i];
+        }
+    }
+
+    private void fromBitmap(int size) {
+        if (queue.length < size) {
+            queue = new int[size];
+        }
+        queueSize = 0;
+        for (int i = 0; i < frontier.length; i++) {
+            for (long word = frontier[i]; word != 0; word &= word - 1) {
+                queue[queueSize++] = i << 6 | Long.numberOfTrailingZeros(word);
+            }
+        }
+    }
+
+    private void collect(int size) {
+        if (queue.length < size) {
+            queue = new int[Math.max(size, 2 * queue.length)];
+        }
+        queueSize = 0;
+        for (int i = 0; i < blocks; i++) {
+            System.arraycopy(output[i], 0, queue, queueSize, outputSize[i]);
+            queueSize += outputSize[i];
+        }
+    }
+
+    private void clearOutput() {
+        Arrays.fill(outputSize, 0);
+        Arrays.fill(outputEdges, 0);
+    }
+}
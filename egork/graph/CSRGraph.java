@@ -0,0 +1,266 @@
+package template.egork.graph;
+
+import java.util.Arrays;
+
+/**
+ * Immutable compressed sparse row form of a directed graph. Outbound edges of vertex {@code v} have ids
+ * {@code outboundStart(v)} to {@code outboundEnd(v) - 1}, and destinations, weights and capacities live in arrays
+ * indexed by those ids, so scanning adjacency reads memory sequentially and allocates nothing:
+ *
+ * <pre>
+ * for (int id = graph.outboundStart(v); id &lt; graph.outboundEnd(v); id++) {
+ *     int next = graph.destination(id);
+ * }
+ * </pre>
+ *
+ * Edge ids are positions in this layout, not ids of the {@link Graph} it was frozen from. Only capacities change after
+ * construction, through {@link #pushFlow(int, long)}.
+ */
+public class CSRGraph {
+    private final int vertexCount;
+    private final int[] offset;
+    private final int[] to;
+    private final long[] weight;
+    private final long[] capacity;
+    private final int[] reverse;
+    private CSRGraph transposed;
+
+    private CSRGraph(int vertexCount, int[] offset, int[] to, long[] weight, long[] capacity, int[] reverse) {
+        this.vertexCount = vertexCount;
+        this.offset = offset;
+        this.to = to;
+        this.weight = weight;
+        this.capacity = capacity;
+        this.reverse = reverse;
+    }
+
+    public static CSRGraph createGraph(int vertexCount, int[] from, int[] to) {
+        return build(vertexCount, from, to, null, null, null);
+    }
+
+    public static CSRGraph createWeightedGraph(int vertexCount, int[] from, int[] to, long[] weight) {
+        return build(vertexCount, from, to, weight, null, null);
+    }
+
+    public static CSRGraph createFlowGraph(int vertexCount, int[] from, int[] to, long[] capacity) {
+        return createFlowWeightedGraph(vertexCount, from, to, null, capacity);
+    }
+
+    /**
+     * Every edge gets a reverse edge of zero capacity and negated weight, as {@link Graph#addFlowWeightedEdge} does;
+     * {@code weight} may be {@code null}.
+     */
+    public static CSRGraph createFlowWeightedGraph(int vertexCount, int[] from, int[] to, long[] weight,
+                                                   long[] capacity) {
+        int edgeCount = 2 * from.length;
+        int[] allFrom = new int[edgeCount];
+        int[] allTo = new int[edgeCount];
+        long[] allWeight = weight == null ? null : new long[edgeCount];
+        long[] allCapacity = new long[edgeCount];
+        int[] allReverse = new int[edgeCount];
+        for (int i = 0; i < from.length; i++) {
+            allFrom[2 * i] = to[i];
+            allTo[2 * i] = from[i];
+            allReverse[2 * i] = 2 * i + 1;
+            allFrom[2 * i + 1] = from[i];
+            allTo[2 * i + 1] = to[i];
+            allCapacity[2 * i + 1] = capacity[i];
+            allReverse[2 * i + 1] = 2 * i;
+            if (weight != null) {
+                allWeight[2 * i] = -weight[i];
+                allWeight[2 * i + 1] = weight[i];
+            }
+        }
+        return build(vertexCount, allFrom, allTo, allWeight, allCapacity, allReverse);
+    }
+
+    /**
+     * Copies the edges of {@code graph} that are not removed, keeping the order in which {@link Graph#firstOutbound}
+     * and {@link Graph#nextOutbound} list them.
+     */
+    public static CSRGraph freeze(Graph graph) {
+        int vertexCount = graph.vertexCount();
+        int[] index = new int[graph.edgeCount()];
+        Arrays.fill(index, -1);
+        int[] ids = new int[graph.edgeCount()];
+        int edgeCount = 0;
+        for (int i = 0; i < vertexCount; i++) {
+            for (int id = graph.firstOutbound(i); id != -1; id = graph.nextOutbound(id)) {
+                index[id] = edgeCount;
+                ids[edgeCount++] = id;
+            }
+        }
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        long[] weight = null;
+        long[] capacity = null;
+        int[] reverse = null;
+        for (int i = 0; i < edgeCount; i++) {
+            int id = ids[i];
+            from[i] = graph.source(id);
+            to[i] = graph.destination(id);
+            if (graph.weight(id) != 0) {
+                if (weight == null) {
+                    weight = new long[edgeCount];
+                }
+                weight[i] = graph.weight(id);
+            }
+            if (graph.capacity(id) != 0) {
+                if (capacity == null) {
+                    capacity = new long[edgeCount];
+                }
+                capacity[i] = graph.capacity(id);
+            }
+            if (graph.reverse(id) != -1) {
+                if (reverse == null) {
+                    reverse = new int[edgeCount];
+                    Arrays.fill(reverse, -1);
+                }
+                reverse[i] = index[graph.reverse(id)];
+            }
+        }
+        if (reverse != null && capacity == null) {
+            capacity = new long[edgeCount];
+        }
+        return build(vertexCount, from, to, weight, capacity, reverse);
+    }
+
+    private static CSRGraph build(int vertexCount, int[] from, int[] to, long[] weight, long[] capacity,
+                                  int[] reverse) {
+        int edgeCount = from.length;
+        int[] offset = new int[vertexCount + 1];
+        for (int vertex : from) {
+            offset[vertex + 1]++;
+        }
+        for (int i = 0; i < vertexCount; i++) {
+            offset[i + 1] += offset[i];
+        }
+        int[] next = Arrays.copyOf(offset, vertexCount);
+        int[] position = new int[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            position[i] = next[from[i]]++;
+        }
+        int[] sortedTo = new int[edgeCount];
+        long[] sortedWeight = weight == null ? null : new long[edgeCount];
+        long[] sortedCapacity = capacity == null ? null : new long[edgeCount];
+        int[] sortedReverse = reverse == null ? null : new int[edgeCount];
+        for (int i = 0; i < edgeCount; i++) {
+            int at = position[i];
+            sortedTo[at] = to[i];
+            if (weight != null) {
+                sortedWeight[at] = weight[i];
+            }
+            if (capacity != null) {
+                sortedCapacity[at] = capacity[i];
+            }
+            if (reverse != null) {
+                sortedReverse[at] = reverse[i] == -1 ? -1 : position[reverse[i]];
+            }
+        }
+        return new CSRGraph(vertexCount, offset, sortedTo, sortedWeight, sortedCapacity, sortedReverse);
+    }
+
+    public final int vertexCount() {
+        return vertexCount;
+    }
+
+    public final int edgeCount() {
+        return to.length;
+    }
+
+    public final int outboundStart(int vertex) {
+        return offset[vertex];
+    }
+
+    public final int outboundEnd(int vertex) {
+        return offset[vertex + 1];
+    }
+
+    public final int outboundCount(int vertex) {
+        return offset[vertex + 1] - offset[vertex];
+    }
+
+    /**
+     * Found by binary search over the offsets, so meant for path reconstruction rather than inner loops.
+     */
+    public final int source(int id) {
+        int left = 0;
+        int right = vertexCount - 1;
+        while (left < right) {
+            int middle = (left + right + 1) >>> 1;
+            if (offset[middle] <= id) {
+                left = middle;
+            } else {
+                right = middle - 1;
+            }
+        }
+        return left;
+    }
+
+    public final int destination(int id) {
+        return to[id];
+    }
+
+    public final long weight(int id) {
+        if (weight == null) {
+            return 0;
+        }
+        return weight[id];
+    }
+
+    public final long capacity(int id) {
+        if (capacity == null) {
+            return 0;
+        }
+        return capacity[id];
+    }
+
+    public final long flow(int id) {
+        if (reverse == null || reverse[id] == -1) {
+            return 0;
+        }
+        return capacity[reverse[id]];
+    }
+
+    public final void pushFlow(int id, long flow) {
+        if (flow == 0) {
+            return;
+        }
+        if (flow > 0) {
+            if (capacity(id) < flow) {
+                throw new IllegalArgumentException("Not enough capacity");
+            }
+        } else {
+            if (flow(id) < -flow) {
+                throw new IllegalArgumentException("Not enough capacity");
+            }
+        }
+        capacity[id] -= flow;
+        capacity[reverse[id]] += flow;
+    }
+
+    public final int reverse(int id) {
+        if (reverse == null) {
+            return -1;
+        }
+        return reverse[id];
+    }
+
+    /**
+     * Graph with every edge turned around, keeping weights; built on first call and cached.
+     */
+    public final CSRGraph transpose() {
+        if (transposed == null) {
+            int[] from = new int[to.length];
+            for (int i = 0; i < vertexCount; i++) {
+                Arrays.fill(from, offset[i], offset[i + 1], i);
+            }
+            transposed = build(vertexCount, to, from, weight, null, null);
+        }
+        return transposed;
+    }
+
+    public final boolean isSparse() {
+        return vertexCount == 0 || (long) edgeCount() * 20 / vertexCount <= vertexCount;
+    }
+}
@@ -38,6 +38,36 @@ public class DFSOrder {
         }
     }
 
+    public DFSOrder(CSRGraph graph) {
+        this(graph, 0);
+    }
+
+    public DFSOrder(CSRGraph graph, int root) {
+        int count = graph.vertexCount();
+        position = new int[count];
+        end = new int[count];
+        int[] edge = new int[count];
+        int[] stack = new int[count];
+        for (int i = 0; i < count; i++) {
+            edge[i] = graph.outboundStart(i);
+        }
+        stack[0] = root;
+        int size = 1;
+        position[root] = 0;
+        int index = 0;
+        while (size > 0) {
+            int current = stack[size - 1];
+            if (edge[current] == graph.outboundEnd(current)) {
+                end[current] = index;
+                size--;
+            } else {
+                int next = graph.destination(edge[current]++);
+                position[next] = ++index;
+                stack[size++] = next;
+            }
+        }
+    }
+
     public DFSOrder(BidirectionalGraph graph) {
         this(graph, 0);
     }
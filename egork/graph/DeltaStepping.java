@@ -0,0 +1,163 @@
+package template.egork.graph;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Parallel single-source shortest distances by delta-stepping (Meyer, Sanders), in the bucket-fusion form of the GAP
+ * benchmark suite. Vertices are kept in buckets of width {@code delta} by tentative distance, and the lowest non-empty
+ * bucket is the frontier: its vertices are split into blocks on the common fork-join pool, every block relaxes all
+ * outbound edges of its vertices, lowering distances with a CAS, and puts improved vertices into its own buckets. A
+ * bucket that refills through light edges is simply processed again, and vertices already settled in a lower bucket
+ * are skipped. The result is exactly what {@link ShortestDistance#dijkstraAlgorithm(CSRGraph, int)} computes.
+ *
+ * Small {@code delta} approaches Dijkstra with little parallelism per step, large {@code delta} approaches
+ * Bellman-Ford with more work; the default is the maximal weight divided by the average out-degree. Weights must be
+ * non-negative, unreached vertices have distance {@code Long.MAX_VALUE}.
+ */
+public class DeltaStepping {
+    private static final VarHandle DISTANCE = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int MAX_BUCKETS = 1 << 16;
+
+    public final long[] distance;
+
+    private final CSRGraph graph;
+    private final long delta;
+    private final int bucketCount;
+    private final int blocks;
+    private final int[][][] buckets;
+    private final int[][] bucketSize;
+    private int[] frontier = new int[16];
+
+    public DeltaStepping(Graph graph, int source) {
+        this(graph.freeze(), source);
+    }
+
+    public DeltaStepping(Graph graph, int source, long delta) {
+        this(graph.freeze(), source, delta);
+    }
+
+    public DeltaStepping(CSRGraph graph, int source) {
+        this(graph, source, defaultDelta(graph));
+    }
+
+    /**
+     * If {@code delta} would need more than {@code MAX_BUCKETS} buckets to cover the maximal weight, it is raised to
+     * the smallest value that does not.
+     */
+    public DeltaStepping(CSRGraph graph, int source, long delta) {
+        if (delta < 1) {
+            throw new IllegalArgumentException("Delta must be positive");
+        }
+        long maxWeight = maxWeight(graph);
+        delta = Math.max(delta, (maxWeight + MAX_BUCKETS - 3) / (MAX_BUCKETS - 2));
+        this.graph = graph;
+        this.delta = delta;
+        // a relaxation from bucket b lands at most maxWeight / delta + 1 buckets further, so the buckets can be cyclic
+        bucketCount = (int) (maxWeight / delta) + 2;
+        blocks = ParallelBlocks.count();
+        buckets = new int[blocks][bucketCount][];
+        bucketSize = new int[blocks][bucketCount];
+        distance = new long[graph.vertexCount()];
+        Arrays.fill(distance, Long.MAX_VALUE);
+        distance[source] = 0;
+        frontier[0] = source;
+        search();
+    }
+
+    private void search() {
+        long bucket = 0;
+        int size = 1;
+        while (true) {
+            relax(bucket, size);
+            long next = Long.MAX_VALUE;
+            for (int block = 0; block < blocks; block++) {
+                for (long i = bucket; i < bucket + bucketCount && i < next; i++) {
+                    if (bucketSize[block][(int) (i % bucketCount)] != 0) {
+                        next = i;
+                        break;
+                    }
+                }
+            }
+            if (next == Long.MAX_VALUE) {
+                return;
+            }
+            bucket = next;
+            size = collect((int) (bucket % bucketCount));
+        }
+    }
+
+    private void relax(long bucket, int size) {
+        int[] frontier = this.frontier;
+        long lowest = bucket * delta;
+        int count = size < ParallelBlocks.SEQUENTIAL_FRONTIER ? 1 : blocks;
+        ParallelBlocks.run(count, block -> {
+            int[][] ownBuckets = buckets[block];
+            int[] ownSize = bucketSize[block];
+            for (int i = (int) ((long) size * block / count); i < (int) ((long) size * (block + 1) / count); i++) {
+                int current = frontier[i];
+                long base = distance[current];
+                if (base < lowest) {
+                    continue;
+                }
+                for (int id = graph.outboundStart(current), end = graph.outboundEnd(current); id < end; id++) {
+                    int vertex = graph.destination(id);
+                    long candidate = base + graph.weight(id);
+                    long old = distance[vertex];
+                    while (candidate < old) {
+                        if (DISTANCE.compareAndSet(distance, vertex, old, candidate)) {
+                            int target = (int) (candidate / delta % bucketCount);
+                            if (ownBuckets[target] == null) {
+                                ownBuckets[target] = new int[16];
+                            } else if (ownSize[target] == ownBuckets[target].length) {
+                                ownBuckets[target] = Arrays.copyOf(ownBuckets[target], 2 * ownSize[target]);
+                            }
+                            ownBuckets[target][ownSize[target]++] = vertex;
+                            break;
+                        }
+                        old = (long) DISTANCE.getVolatile(distance, vertex);
+                    }
+                }
+            }
+        });
+    }
+
+    private int collect(int index) {
+        int size = 0;
+        for (int block = 0; block < blocks; block++) {
+            size += bucketSize[block][index];
+        }
+        if (frontier.length < size) {
+            frontier = new int[Math.max(size, 2 * frontier.length)];
+        }
+        size = 0;
+        for (int block = 0; block < blocks; block++) {
+            if (bucketSize[block][index] != 0) {
+                System.arraycopy(buckets[block][index], 0, frontier, size, bucketSize[block][index]);
+                size += bucketSize[block][index];
+                bucketSize[block][index] = 0;
+            }
+        }
+        return size;
+    }
+
+    private static long maxWeight(CSRGraph graph) {
+        long maxWeight = 0;
+        for (int i = 0; i < graph.edgeCount(); i++) {
+            if (graph.weight(i) < 0) {
+                throw new IllegalArgumentException("Negative weight " + graph.weight(i));
+            }
+            maxWeight = Math.max(maxWeight, graph.weight(i));
+        }
+        return maxWeight;
+    }
+
+    private static long defaultDelta(CSRGraph graph) {
+        long maxWeight = 0;
+        for (int i = 0; i < graph.edgeCount(); i++) {
+            maxWeight = Math.max(maxWeight, graph.weight(i));
+        }
+        return Math.max(maxWeight / Math.max(graph.edgeCount() / graph.vertexCount(), 1), 1);
+    }
+}
@@ -402,6 +402,13 @@ public class Graph {
         return newArray;
     }
 
+    /**
+     * Immutable compressed sparse row copy of this graph, see {@link CSRGraph#freeze(Graph)}.
+     */
+    public final CSRGraph freeze() {
+        return CSRGraph.freeze(this);
+    }
+
     public final boolean isSparse() {
         return vertexCount == 0 || edgeCount * 20 / vertexCount <= vertexCount;
     }
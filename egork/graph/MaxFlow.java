@@ -10,6 +10,7 @@ import java.util.Arrays;
  */
 public class MaxFlow {
     private final Graph graph;
+    private final CSRGraph frozen;
     private int source;
     private int destination;
     private IntQueue queue;
@@ -17,10 +18,18 @@ public class MaxFlow {
     private int[] nextEdge;
 
     public MaxFlow(Graph graph, int source, int destination) {
+        this(graph, null, graph.vertexCount(), source, destination);
+    }
+
+    public MaxFlow(CSRGraph graph, int source, int destination) {
+        this(null, graph, graph.vertexCount(), source, destination);
+    }
+
+    private MaxFlow(Graph graph, CSRGraph frozen, int vertexCount, int source, int destination) {
         this.graph = graph;
+        this.frozen = frozen;
         this.source = source;
         this.destination = destination;
-        int vertexCount = graph.vertexCount();
         queue = new IntArrayQueue(vertexCount);
         distance = new int[vertexCount];
         nextEdge = new int[vertexCount];
@@ -30,15 +39,23 @@ public class MaxFlow {
         return new MaxFlow(graph, source, destination).dinic();
     }
 
+    public static long dinic(CSRGraph graph, int source, int destination) {
+        return new MaxFlow(graph, source, destination).dinic();
+    }
+
     public long dinic() {
         long totalFlow = 0;
         while (true) {
-            edgeDistances();
+            if (frozen != null) {
+                frozenEdgeDistances();
+            } else {
+                edgeDistances();
+            }
             if (distance[destination] == -1) {
                 break;
             }
             Arrays.fill(nextEdge, -2);
-            totalFlow += dinicImpl(source, Long.MAX_VALUE);
+            totalFlow += frozen != null ? frozenDinicImpl(source, Long.MAX_VALUE) : dinicImpl(source, Long.MAX_VALUE);
         }
         return totalFlow;
     }
@@ -92,4 +109,53 @@ public class MaxFlow {
         }
         return totalPushed;
     }
+
+    private void frozenEdgeDistances() {
+        Arrays.fill(distance, -1);
+        distance[source] = 0;
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            for (int id = frozen.outboundStart(current), end = frozen.outboundEnd(current); id < end; id++) {
+                if (frozen.capacity(id) != 0) {
+                    int next = frozen.destination(id);
+                    if (distance[next] == -1) {
+                        distance[next] = distance[current] + 1;
+                        queue.add(next);
+                    }
+                }
+            }
+        }
+    }
+
+    private long frozenDinicImpl(int source, long flow) {
+        if (source == destination) {
+            return flow;
+        }
+        if (flow == 0 || distance[source] == distance[destination]) {
+            return 0;
+        }
+        int id = nextEdge[source];
+        if (id == -2) {
+            nextEdge[source] = id = frozen.outboundStart(source);
+        }
+        long totalPushed = 0;
+        int end = frozen.outboundEnd(source);
+        while (id < end) {
+            int nextDestinationID = frozen.destination(id);
+            if (frozen.capacity(id) != 0 && distance[nextDestinationID] == distance[source] + 1) {
+                long pushed = frozenDinicImpl(nextDestinationID, Math.min(flow, frozen.capacity(id)));
+                if (pushed != 0) {
+                    frozen.pushFlow(id, pushed);
+                    flow -= pushed;
+                    totalPushed += pushed;
+                    if (flow == 0) {
+                        return totalPushed;
+                    }
+                }
+            }
+            nextEdge[source] = ++id;
+        }
+        return totalPushed;
+    }
 }
@@ -0,0 +1,46 @@
+package template.egork.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Fork-join plumbing shared by the parallel graph algorithms: a step is cut into a fixed number of blocks that run on
+ * the common pool, or inline when there is only one.
+ */
+class ParallelBlocks {
+    /**
+     * Frontiers smaller than this are processed as a single block, forking them costs more than it saves.
+     */
+    static final int SEQUENTIAL_FRONTIER = 1 << 10;
+
+    private ParallelBlocks() {
+    }
+
+    /**
+     * Number of blocks to split a step into: a few per thread of the common pool for load balancing, or one if the
+     * pool has a single thread.
+     */
+    static int count() {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        return parallelism > 1 ? 4 * parallelism : 1;
+    }
+
+    static void run(int blocks, BlockTask task) {
+        if (blocks == 1) {
+            task.run(0);
+            return;
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(blocks);
+        for (int i = 0; i < blocks; i++) {
+            int block = i;
+            tasks.add(ForkJoinTask.adapt(() -> task.run(block)));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    interface BlockTask {
+        void run(int block);
+    }
+}
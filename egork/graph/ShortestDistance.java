@@ -13,6 +13,8 @@ import java.util.Arrays;
  * @author Egor Kulikov (kulikov@devexperts.com)
  */
 public class ShortestDistance {
+    private static final int DIAL_LIMIT = 64;
+
     public static Pair<long[], int[]> dijkstraAlgorithm(Graph graph, int source) {
         int vertexCount = graph.vertexCount();
         final long[] distance = new long[vertexCount];
@@ -77,6 +79,267 @@ public class ShortestDistance {
         return Pair.makePair(distance, last);
     }
 
+    /**
+     * Picks the queue from the weight range: buckets ({@link #dialDijkstra}) when every weight is at most
+     * {@code DIAL_LIMIT}, a radix heap ({@link #radixHeapDijkstra}) for any other non-negative weights, and an indexed
+     * heap with decrease-key ({@link #heapDijkstra}) if there are negative weights. On random sparse graphs the radix
+     * heap beats {@link #lazyHeapDijkstra}, which stays available for callers that prefer a compact queue.
+     */
+    public static Pair<long[], int[]> dijkstraAlgorithm(CSRGraph graph, int source) {
+        long minWeight = 0;
+        long maxWeight = 0;
+        for (int i = 0; i < graph.edgeCount(); i++) {
+            minWeight = Math.min(minWeight, graph.weight(i));
+            maxWeight = Math.max(maxWeight, graph.weight(i));
+        }
+        if (minWeight < 0) {
+            return heapDijkstra(graph, source);
+        }
+        if (maxWeight <= DIAL_LIMIT) {
+            return dialDijkstra(graph, source, (int) maxWeight);
+        }
+        return radixHeapDijkstra(graph, source);
+    }
+
+    /**
+     * Dial's algorithm: a circular array of {@code maxWeight + 1} buckets indexed by distance, scanned in order. Weights
+     * must lie in {@code [0, maxWeight]}; O(m + maximal distance).
+     */
+    public static Pair<long[], int[]> dialDijkstra(CSRGraph graph, int source, int maxWeight) {
+        int vertexCount = graph.vertexCount();
+        long[] distance = new long[vertexCount];
+        int[] last = new int[vertexCount];
+        Arrays.fill(distance, Long.MAX_VALUE);
+        Arrays.fill(last, -1);
+        distance[source] = 0;
+        int bucketCount = maxWeight + 1;
+        int[][] buckets = new int[bucketCount][];
+        int[] bucketSize = new int[bucketCount];
+        buckets[0] = new int[]{source};
+        bucketSize[0] = 1;
+        long pending = 1;
+        for (long current = 0; pending > 0; current++) {
+            int index = (int) (current % bucketCount);
+            while (bucketSize[index] > 0) {
+                int vertex = buckets[index][--bucketSize[index]];
+                pending--;
+                if (distance[vertex] != current) {
+                    continue;
+                }
+                for (int id = graph.outboundStart(vertex), end = graph.outboundEnd(vertex); id < end; id++) {
+                    int next = graph.destination(id);
+                    long total = current + graph.weight(id);
+                    if (distance[next] > total) {
+                        distance[next] = total;
+                        last[next] = id;
+                        int target = (int) (total % bucketCount);
+                        if (buckets[target] == null) {
+                            buckets[target] = new int[4];
+                        } else if (bucketSize[target] == buckets[target].length) {
+                            buckets[target] = Arrays.copyOf(buckets[target], 2 * bucketSize[target]);
+                        }
+                        buckets[target][bucketSize[target]++] = next;
+                        pending++;
+                    }
+                }
+            }
+        }
+        return Pair.makePair(distance, last);
+    }
+
+    /**
+     * Binary heap of {@code distance << bits | vertex} longs without decrease-key: improved vertices are pushed again
+     * and outdated entries skipped when polled. Every distance must fit into {@code 63 - bits} bits, where {@code bits}
+     * is the width of the largest vertex id.
+     */
+    public static Pair<long[], int[]> lazyHeapDijkstra(CSRGraph graph, int source) {
+        int vertexCount = graph.vertexCount();
+        long[] distance = new long[vertexCount];
+        int[] last = new int[vertexCount];
+        Arrays.fill(distance, Long.MAX_VALUE);
+        Arrays.fill(last, -1);
+        distance[source] = 0;
+        int shift = vertexBits(vertexCount);
+        long mask = (1L << shift) - 1;
+        long[] heap = new long[16];
+        heap[0] = source;
+        int size = 1;
+        while (size > 0) {
+            long top = heap[0];
+            long value = heap[--size];
+            int at = 0;
+            while (2 * at + 1 < size) {
+                int child = 2 * at + 1;
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (heap[child] >= value) {
+                    break;
+                }
+                heap[at] = heap[child];
+                at = child;
+            }
+            heap[at] = value;
+            int vertex = (int) (top & mask);
+            long current = top >>> shift;
+            if (distance[vertex] != current) {
+                continue;
+            }
+            for (int id = graph.outboundStart(vertex), end = graph.outboundEnd(vertex); id < end; id++) {
+                int next = graph.destination(id);
+                long total = current + graph.weight(id);
+                if (distance[next] > total) {
+                    distance[next] = total;
+                    last[next] = id;
+                    if (size == heap.length) {
+                        heap = Arrays.copyOf(heap, 2 * size);
+                    }
+                    long entry = total << shift | next;
+                    at = size++;
+                    while (at > 0 && heap[(at - 1) >> 1] > entry) {
+                        heap[at] = heap[(at - 1) >> 1];
+                        at = (at - 1) >> 1;
+                    }
+                    heap[at] = entry;
+                }
+            }
+        }
+        return Pair.makePair(distance, last);
+    }
+
+    /**
+     * Monotone radix heap: an entry with key {@code k} lives in bucket {@code 64 - numberOfLeadingZeros(k ^ min)},
+     * where {@code min} is the last extracted key, and a bucket is only redistributed when all lower ones are empty, so
+     * every entry moves at most 64 times. Weights must be non-negative.
+     */
+    public static Pair<long[], int[]> radixHeapDijkstra(CSRGraph graph, int source) {
+        int vertexCount = graph.vertexCount();
+        long[] distance = new long[vertexCount];
+        int[] last = new int[vertexCount];
+        Arrays.fill(distance, Long.MAX_VALUE);
+        Arrays.fill(last, -1);
+        distance[source] = 0;
+        long[][] keys = new long[65][4];
+        int[][] vertices = new int[65][4];
+        int[] size = new int[65];
+        keys[0][0] = 0;
+        vertices[0][0] = source;
+        size[0] = 1;
+        int total = 1;
+        long min = 0;
+        while (total > 0) {
+            if (size[0] == 0) {
+                int bucket = 1;
+                while (size[bucket] == 0) {
+                    bucket++;
+                }
+                min = Long.MAX_VALUE;
+                for (int i = 0; i < size[bucket]; i++) {
+                    min = Math.min(min, keys[bucket][i]);
+                }
+                for (int i = 0; i < size[bucket]; i++) {
+                    long key = keys[bucket][i];
+                    int target = 64 - Long.numberOfLeadingZeros(key ^ min);
+                    push(keys, vertices, size, target, key, vertices[bucket][i]);
+                }
+                size[bucket] = 0;
+            }
+            int vertex = vertices[0][--size[0]];
+            total--;
+            if (distance[vertex] != min) {
+                continue;
+            }
+            for (int id = graph.outboundStart(vertex), end = graph.outboundEnd(vertex); id < end; id++) {
+                int next = graph.destination(id);
+                long candidate = min + graph.weight(id);
+                if (distance[next] > candidate) {
+                    distance[next] = candidate;
+                    last[next] = id;
+                    push(keys, vertices, size, 64 - Long.numberOfLeadingZeros(candidate ^ min), candidate, next);
+                    total++;
+                }
+            }
+        }
+        return Pair.makePair(distance, last);
+    }
+
+    private static void push(long[][] keys, int[][] vertices, int[] size, int bucket, long key, int vertex) {
+        if (size[bucket] == keys[bucket].length) {
+            keys[bucket] = Arrays.copyOf(keys[bucket], 2 * size[bucket]);
+            vertices[bucket] = Arrays.copyOf(vertices[bucket], 2 * size[bucket]);
+        }
+        keys[bucket][size[bucket]] = key;
+        vertices[bucket][size[bucket]++] = vertex;
+    }
+
+    private static int vertexBits(int vertexCount) {
+        return Math.max(32 - Integer.numberOfLeadingZeros(vertexCount - 1), 1);
+    }
+
+    /**
+     * Indexed binary heap with decrease-key, as in {@link #dijkstraAlgorithm(Graph, int)}; the only variant that
+     * accepts negative weights.
+     */
+    public static Pair<long[], int[]> heapDijkstra(CSRGraph graph, int source) {
+        int vertexCount = graph.vertexCount();
+        final long[] distance = new long[vertexCount];
+        int[] last = new int[vertexCount];
+        Arrays.fill(distance, Long.MAX_VALUE);
+        Arrays.fill(last, -1);
+        distance[source] = 0;
+        if (graph.isSparse()) {
+            Heap heap = new Heap(vertexCount, new IntComparator() {
+                public int compare(int first, int second) {
+                    return IntegerUtils.longCompare(distance[first], distance[second]);
+                }
+            }, vertexCount);
+            heap.add(source);
+            while (!heap.isEmpty()) {
+                int current = heap.poll();
+                for (int id = graph.outboundStart(current), end = graph.outboundEnd(current); id < end; id++) {
+                    int next = graph.destination(id);
+                    long total = graph.weight(id) + distance[current];
+                    if (distance[next] > total) {
+                        distance[next] = total;
+                        if (heap.getIndex(next) == -1) {
+                            heap.add(next);
+                        } else {
+                            heap.shiftUp(heap.getIndex(next));
+                        }
+                        last[next] = id;
+                    }
+                }
+            }
+        } else {
+            boolean[] visited = new boolean[vertexCount];
+            for (int i = 0; i < vertexCount; i++) {
+                int index = -1;
+                long length = Long.MAX_VALUE;
+                for (int j = 0; j < vertexCount; j++) {
+                    if (!visited[j] && distance[j] < length) {
+                        length = distance[j];
+                        index = j;
+                    }
+                }
+                if (index == -1) {
+                    break;
+                }
+                visited[index] = true;
+                for (int id = graph.outboundStart(index), end = graph.outboundEnd(index); id < end; id++) {
+                    int next = graph.destination(id);
+                    if (!visited[next]) {
+                        long total = graph.weight(id) + length;
+                        if (distance[next] > total) {
+                            distance[next] = total;
+                            last[next] = id;
+                        }
+                    }
+                }
+            }
+        }
+        return Pair.makePair(distance, last);
+    }
+
     public static Pair<Long, IntList> dijkstraAlgorithm(Graph graph, int source, int destination) {
         if (source == destination) {
             return Pair.makePair(0L, new IntArrayList());
@@ -94,4 +357,22 @@ public class ShortestDistance {
         path.inPlaceReverse();
         return Pair.makePair(result.first[destination], path);
     }
+
+    public static Pair<Long, IntList> dijkstraAlgorithm(CSRGraph graph, int source, int destination) {
+        if (source == destination) {
+            return Pair.makePair(0L, new IntArrayList());
+        }
+        Pair<long[], int[]> result = dijkstraAlgorithm(graph, source);
+        if (result.second[destination] == -1) {
+            return null;
+        }
+        IntList path = new IntArrayList();
+        int id = destination;
+        while (id != source) {
+            path.add(result.second[id]);
+            id = graph.source(result.second[id]);
+        }
+        path.inPlaceReverse();
+        return Pair.makePair(result.first[destination], path);
+    }
 }
@@ -0,0 +1,301 @@
+package template.egork.graph;
+
+import template.egork.collections.Pair;
+import template.egork.generated.collections.list.IntArrayList;
+import template.egork.generated.collections.list.IntList;
+import template.egork.misc.ArrayUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Answers many (source, target) shortest path queries against one static graph with non-negative weights. A batch is
+ * grouped by source: a source with at least {@code TREE_QUERIES} targets gets a full single-source search whose tree
+ * (distances and last edges) is kept in an LRU cache, so hot sources are searched only once across batches, while the
+ * targets of the other sources are found by bidirectional Dijkstra. Groups are spread over the common fork-join pool.
+ * {@link #path(int, int)} always goes through a cached tree.
+ *
+ * Bidirectional searches borrow their buffers from a pool owned by the engine, one per concurrent user: a vertex's
+ * entries are valid only if its stamp equals the buffer's current epoch, so starting a new search costs one increment
+ * instead of clearing arrays of vertex count size. Unreachable targets have distance {@code Long.MAX_VALUE}.
+ */
+public class ShortestPathQueries {
+    private static final int TREE_QUERIES = 8;
+    private static final int DEFAULT_CACHE_SIZE = 64;
+
+    private final CSRGraph graph;
+    private final CSRGraph inbound;
+    private final Map<Integer, Pair<long[], int[]>> cache;
+    private final List<Search> idleSearches = new ArrayList<>();
+
+    public ShortestPathQueries(Graph graph) {
+        this(graph.freeze(), DEFAULT_CACHE_SIZE);
+    }
+
+    public ShortestPathQueries(CSRGraph graph, int cacheSize) {
+        for (int i = 0; i < graph.edgeCount(); i++) {
+            if (graph.weight(i) < 0) {
+                throw new IllegalArgumentException("Negative weight " + graph.weight(i));
+            }
+        }
+        this.graph = graph;
+        inbound = graph.transpose();
+        cache = new LinkedHashMap<Integer, Pair<long[], int[]>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Pair<long[], int[]>> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public CSRGraph graph() {
+        return graph;
+    }
+
+    public long distance(int source, int target) {
+        Pair<long[], int[]> tree = cached(source);
+        if (tree != null) {
+            return tree.first[target];
+        }
+        Search search = acquireSearch();
+        try {
+            return search.distance(source, target);
+        } finally {
+            releaseSearch(search);
+        }
+    }
+
+    /**
+     * Distances from the source to every vertex; the result is cached and must not be modified.
+     */
+    public long[] distances(int source) {
+        return tree(source).first;
+    }
+
+    /**
+     * Same result as {@link ShortestDistance#dijkstraAlgorithm(CSRGraph, int, int)}: the length and the edge ids of a
+     * shortest path, or {@code null} if the target is unreachable. Edge ids are those of {@link #graph()}, which differ
+     * from the ids of a {@link Graph} the engine was built from. The source's tree is computed and cached if needed.
+     */
+    public Pair<Long, IntList> path(int source, int target) {
+        if (source == target) {
+            return Pair.makePair(0L, new IntArrayList());
+        }
+        Pair<long[], int[]> tree = tree(source);
+        if (tree.second[target] == -1) {
+            return null;
+        }
+        IntList path = new IntArrayList();
+        for (int vertex = target; vertex != source; vertex = graph.source(tree.second[vertex])) {
+            path.add(tree.second[vertex]);
+        }
+        path.inPlaceReverse();
+        return Pair.makePair(tree.first[target], path);
+    }
+
+    public long[] distances(int[] sources, int[] targets) {
+        int[] order = ArrayUtils.order(sources);
+        List<Integer> groupStarts = new ArrayList<>();
+        for (int i = 0; i < order.length; i++) {
+            if (i == 0 || sources[order[i]] != sources[order[i - 1]]) {
+                groupStarts.add(i);
+            }
+        }
+        groupStarts.add(order.length);
+        long[] result = new long[sources.length];
+        AtomicInteger nextGroup = new AtomicInteger();
+        int groupCount = groupStarts.size() - 1;
+        // groups differ a lot in cost, so blocks claim them one by one instead of taking fixed ranges
+        ParallelBlocks.run(order.length >= TREE_QUERIES ? ParallelBlocks.count() : 1, block -> {
+            Search search = null;
+            try {
+                for (int group = nextGroup.getAndIncrement(); group < groupCount; group = nextGroup.getAndIncrement()) {
+                    int from = groupStarts.get(group);
+                    int to = groupStarts.get(group + 1);
+                    int source = sources[order[from]];
+                    Pair<long[], int[]> tree = to - from >= TREE_QUERIES ? tree(source) : cached(source);
+                    if (tree != null) {
+                        for (int i = from; i < to; i++) {
+                            result[order[i]] = tree.first[targets[order[i]]];
+                        }
+                        continue;
+                    }
+                    if (search == null) {
+                        search = acquireSearch();
+                    }
+                    for (int i = from; i < to; i++) {
+                        result[order[i]] = search.distance(source, targets[order[i]]);
+                    }
+                }
+            } finally {
+                if (search != null) {
+                    releaseSearch(search);
+                }
+            }
+        });
+        return result;
+    }
+
+    private Pair<long[], int[]> tree(int source) {
+        Pair<long[], int[]> tree = cached(source);
+        if (tree == null) {
+            tree = ShortestDistance.dijkstraAlgorithm(graph, source);
+            synchronized (cache) {
+                cache.put(source, tree);
+            }
+        }
+        return tree;
+    }
+
+    private Pair<long[], int[]> cached(int source) {
+        synchronized (cache) {
+            return cache.get(source);
+        }
+    }
+
+    private Search acquireSearch() {
+        synchronized (idleSearches) {
+            if (!idleSearches.isEmpty()) {
+                return idleSearches.remove(idleSearches.size() - 1);
+            }
+        }
+        return new Search(graph, inbound);
+    }
+
+    private void releaseSearch(Search search) {
+        synchronized (idleSearches) {
+            idleSearches.add(search);
+        }
+    }
+
+    private static class Search {
+        private final CSRGraph graph;
+        private final CSRGraph inbound;
+        private final Side forward;
+        private final Side backward;
+        private int epoch;
+
+        private Search(CSRGraph graph, CSRGraph inbound) {
+            this.graph = graph;
+            this.inbound = inbound;
+            forward = new Side(graph.vertexCount());
+            backward = new Side(graph.vertexCount());
+        }
+
+        private long distance(int source, int target) {
+            if (source == target) {
+                return 0;
+            }
+            if (++epoch == 0) {
+                forward.reset();
+                backward.reset();
+                epoch = 1;
+            }
+            forward.start(source, epoch);
+            backward.start(target, epoch);
+            long best = Long.MAX_VALUE;
+            while (forward.size > 0 && backward.size > 0) {
+                long forwardTop = forward.keys[0];
+                long backwardTop = backward.keys[0];
+                if (forwardTop >= best - backwardTop) {
+                    break;
+                }
+                if (forwardTop <= backwardTop) {
+                    best = forward.step(graph, backward, best, epoch);
+                } else {
+                    best = backward.step(inbound, forward, best, epoch);
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * One direction of a bidirectional search: tentative distances with epoch stamps and a lazy-deletion binary heap
+     * of (distance, vertex) kept in two parallel arrays.
+     */
+    private static class Side {
+        private final long[] distance;
+        private final int[] stamp;
+        private long[] keys = new long[16];
+        private int[] vertices = new int[16];
+        private int size;
+
+        private Side(int vertexCount) {
+            distance = new long[vertexCount];
+            stamp = new int[vertexCount];
+        }
+
+        private void reset() {
+            Arrays.fill(stamp, 0);
+        }
+
+        private void start(int vertex, int epoch) {
+            size = 0;
+            stamp[vertex] = epoch;
+            distance[vertex] = 0;
+            push(0, vertex);
+        }
+
+        private long step(CSRGraph graph, Side other, long best, int epoch) {
+            long current = keys[0];
+            int vertex = vertices[0];
+            pop();
+            if (distance[vertex] != current) {
+                return best;
+            }
+            for (int id = graph.outboundStart(vertex), end = graph.outboundEnd(vertex); id < end; id++) {
+                int next = graph.destination(id);
+                long total = current + graph.weight(id);
+                if (stamp[next] != epoch || distance[next] > total) {
+                    stamp[next] = epoch;
+                    distance[next] = total;
+                    push(total, next);
+                }
+                if (other.stamp[next] == epoch) {
+                    best = Math.min(best, total + other.distance[next]);
+                }
+            }
+            return best;
+        }
+
+        private void push(long key, int vertex) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, 2 * size);
+                vertices = Arrays.copyOf(vertices, 2 * size);
+            }
+            int at = size++;
+            while (at > 0 && keys[(at - 1) >> 1] > key) {
+                keys[at] = keys[(at - 1) >> 1];
+                vertices[at] = vertices[(at - 1) >> 1];
+                at = (at - 1) >> 1;
+            }
+            keys[at] = key;
+            vertices[at] = vertex;
+        }
+
+        private void pop() {
+            long key = keys[--size];
+            int vertex = vertices[size];
+            int at = 0;
+            while (2 * at + 1 < size) {
+                int child = 2 * at + 1;
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (keys[child] >= key) {
+                    break;
+                }
+                keys[at] = keys[child];
+                vertices[at] = vertices[child];
+                at = child;
+            }
+            keys[at] = key;
+            vertices[at] = vertex;
+        }
+    }
+}
@@ -30,6 +30,74 @@ public class StronglyConnectedComponents {
         return new StronglyConnectedComponents(graph).kosaraju();
     }
 
+    /**
+     * Same result as {@link #kosaraju(Graph)}; both passes run on explicit stacks, so long paths do not overflow the
+     * call stack.
+     */
+    public static Pair<int[], Graph> kosaraju(CSRGraph graph) {
+        int vertexCount = graph.vertexCount();
+        int[] order = new int[vertexCount];
+        boolean[] visited = new boolean[vertexCount];
+        int[] edge = new int[vertexCount];
+        int[] stack = new int[vertexCount];
+        int index = 0;
+        for (int i = 0; i < vertexCount; i++) {
+            if (visited[i]) {
+                continue;
+            }
+            visited[i] = true;
+            edge[i] = graph.outboundStart(i);
+            stack[0] = i;
+            int size = 1;
+            while (size > 0) {
+                int current = stack[size - 1];
+                if (edge[current] == graph.outboundEnd(current)) {
+                    order[index++] = current;
+                    size--;
+                } else {
+                    int next = graph.destination(edge[current]++);
+                    if (!visited[next]) {
+                        visited[next] = true;
+                        edge[next] = graph.outboundStart(next);
+                        stack[size++] = next;
+                    }
+                }
+            }
+        }
+        CSRGraph transposed = graph.transpose();
+        int[] condensed = new int[vertexCount];
+        Arrays.fill(condensed, -1);
+        Graph result = new Graph(0);
+        int component = 0;
+        for (int i = vertexCount - 1; i >= 0; i--) {
+            if (condensed[order[i]] != -1) {
+                continue;
+            }
+            IntSet next = new IntHashSet();
+            condensed[order[i]] = component;
+            stack[0] = order[i];
+            int size = 1;
+            while (size > 0) {
+                int current = stack[--size];
+                for (int id = transposed.outboundStart(current); id < transposed.outboundEnd(current); id++) {
+                    int source = transposed.destination(id);
+                    if (condensed[source] == -1) {
+                        condensed[source] = component;
+                        stack[size++] = source;
+                    } else if (condensed[source] != component) {
+                        next.add(condensed[source]);
+                    }
+                }
+            }
+            result.addVertices(1);
+            for (int set : next.toArray()) {
+                result.addSimpleEdge(set, component);
+            }
+            component++;
+        }
+        return Pair.makePair(condensed, result);
+    }
+
     private Pair<int[], Graph> kosaraju() {
         for (int i = 0; i < vertexCount; i++) {
             if (!visited[i]) {
@@ -23,25 +23,19 @@ public class IOUtils {
 
     public static int[] readIntArray(InputReader in, int size) {
         int[] array = new int[size];
-        for (int i = 0; i < size; i++) {
-            array[i] = in.readInt();
-        }
+        in.readInts(array, 0, size);
         return array;
     }
 
     public static long[] readLongArray(InputReader in, int size) {
         long[] array = new long[size];
-        for (int i = 0; i < size; i++) {
-            array[i] = in.readLong();
-        }
+        in.readLongs(array, 0, size);
         return array;
     }
 
     public static double[] readDoubleArray(InputReader in, int size) {
         double[] array = new double[size];
-        for (int i = 0; i < size; i++) {
-            array[i] = in.readDouble();
-        }
+        in.readDoubles(array, 0, size);
         return array;
     }
 
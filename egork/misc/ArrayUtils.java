@@ -7,6 +7,7 @@ import template.egork.generated.collections.list.IntArray;
 import template.egork.collections.intcollection.Range;
 import template.egork.generated.collections.list.CharArray;
 import template.egork.generated.collections.list.LongArray;
+import template.egork.generated.collections.list.Sorter;
 
 import java.lang.reflect.Array;
 import java.util.Arrays;
@@ -218,7 +219,9 @@ public class ArrayUtils {
     }
 
     public static int[] sort(int[] array, int from, int to, IntComparator comparator) {
-        if (from == 0 && to == array.length) {
+        if (comparator == IntComparator.DEFAULT) {
+            Sorter.radixSort(array, from, to);
+        } else if (from == 0 && to == array.length) {
             new IntArray(array).sort(comparator);
         } else {
             new IntArray(array).subList(from, to).sort(comparator);
@@ -227,31 +230,11 @@ public class ArrayUtils {
     }
 
     public static int[] order(final int[] array) {
-        return sort(createOrder(array.length), new IntComparator() {
-            public int compare(int first, int second) {
-                if (array[first] < array[second]) {
-                    return -1;
-                }
-                if (array[first] > array[second]) {
-                    return 1;
-                }
-                return 0;
-            }
-        });
+        return Sorter.radixOrder(array);
     }
 
     public static int[] order(final long[] array) {
-        return sort(createOrder(array.length), new IntComparator() {
-            public int compare(int first, int second) {
-                if (array[first] < array[second]) {
-                    return -1;
-                }
-                if (array[first] > array[second]) {
-                    return 1;
-                }
-                return 0;
-            }
-        });
+        return Sorter.radixOrder(array);
     }
 
     public static int[] unique(int[] array) {
@@ -275,11 +258,7 @@ public class ArrayUtils {
     }
 
     public static int[] order(final double[] array) {
-        return sort(createOrder(array.length), new IntComparator() {
-            public int compare(int first, int second) {
-                return Double.compare(array[first], array[second]);
-            }
-        });
+        return Sorter.radixOrder(array);
     }
 
     public static int[] reversePermutation(int[] permutation) {
@@ -397,6 +376,26 @@ public class ArrayUtils {
         return result;
     }
 
+    /**
+     * Stable order of indices by {@code columns[0]}, ties broken by {@code columns[1]} and so on: the columns are
+     * applied from the last one to the first, each as a stable radix pass over the current order.
+     */
+    public static int[] lexicographicOrder(int[]... columns) {
+        int[] order = createOrder(columns[0].length);
+        for (int i = columns.length - 1; i >= 0; i--) {
+            Sorter.radixOrder(columns[i], order);
+        }
+        return order;
+    }
+
+    public static int[] lexicographicOrder(long[]... columns) {
+        int[] order = createOrder(columns[0].length);
+        for (int i = columns.length - 1; i >= 0; i--) {
+            Sorter.radixOrder(columns[i], order);
+        }
+        return order;
+    }
+
     public static void orderBy(int[] base, int[]... arrays) {
         int[] order = ArrayUtils.order(base);
         order(order, base);
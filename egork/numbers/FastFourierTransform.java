@@ -1,9 +1,19 @@
 package template.egork.numbers;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * @author Egor Kulikov (egorku@yandex-team.ru)
  */
 public class FastFourierTransform {
+    /**
+     * Transform size from which {@link #multiply(long[], long[])} switches to {@link #parallelFft}.
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 22;
+
+    private static final int SEQUENTIAL_BLOCK = 1 << 14;
+
     public static void fft(double[] a, double[] b, boolean invert) {
         int count = a.length;
         for (int i = 1, j = 0; i < count; i++) {
@@ -68,23 +78,161 @@ public class FastFourierTransform {
         for (int i = 0; i < b.length; i++) {
             bReal[i] = b[i];
         }
-        fft(aReal, aImaginary, false);
+        boolean parallel = resultSize >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+        transform(aReal, aImaginary, false, parallel);
         if (a == b) {
             System.arraycopy(aReal, 0, bReal, 0, aReal.length);
             System.arraycopy(aImaginary, 0, bImaginary, 0, aImaginary.length);
         } else {
-            fft(bReal, bImaginary, false);
+            transform(bReal, bImaginary, false, parallel);
         }
         for (int i = 0; i < resultSize; i++) {
             double real = aReal[i] * bReal[i] - aImaginary[i] * bImaginary[i];
             aImaginary[i] = aImaginary[i] * bReal[i] + bImaginary[i] * aReal[i];
             aReal[i] = real;
         }
-        fft(aReal, aImaginary, true);
+        transform(aReal, aImaginary, true, parallel);
         long[] result = new long[resultSize];
         for (int i = 0; i < resultSize; i++) {
             result[i] = Math.round(aReal[i]);
         }
         return result;
     }
+
+    private static void transform(double[] a, double[] b, boolean invert, boolean parallel) {
+        if (parallel) {
+            parallelFft(a, b, invert);
+        } else {
+            fft(a, b, invert);
+        }
+    }
+
+    /**
+     * Same transform as {@link #fft(double[], double[], boolean)}, run on the common {@link ForkJoinPool}. The two
+     * halves of every block are transformed as independent subtasks and the butterflies of the merging stage are split
+     * between workers; twiddle factors come from a table instead of a running product, so each worker starts from an
+     * exact root.
+     */
+    public static void parallelFft(double[] a, double[] b, boolean invert) {
+        int count = a.length;
+        if (count <= SEQUENTIAL_BLOCK) {
+            fft(a, b, invert);
+            return;
+        }
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        // roots for the stage of length 2 * half are stored at [half, 2 * half)
+        double[] rootA = new double[count];
+        double[] rootB = new double[count];
+        int shift = Integer.numberOfLeadingZeros(count) + 1;
+        int halfCount = count >> 1;
+        pool.invoke(new ParallelLoop(0, count, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                int j = Integer.reverse(i) >>> shift;
+                if (i < j) {
+                    double temp = a[i];
+                    a[i] = a[j];
+                    a[j] = temp;
+                    temp = b[i];
+                    b[i] = b[j];
+                    b[j] = temp;
+                }
+            }
+            for (int i = from; i < to && i < halfCount; i++) {
+                double angle = 2 * Math.PI * i / count;
+                rootA[halfCount + i] = Math.cos(angle);
+                rootB[halfCount + i] = invert ? -Math.sin(angle) : Math.sin(angle);
+            }
+        }));
+        for (int i = halfCount - 1; i > 0; i--) {
+            rootA[i] = rootA[i << 1];
+            rootB[i] = rootB[i << 1];
+        }
+        pool.invoke(new Butterflies(a, b, rootA, rootB, 0, count));
+        if (invert) {
+            pool.invoke(new ParallelLoop(0, count, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    a[i] /= count;
+                    b[i] /= count;
+                }
+            }));
+        }
+    }
+
+    private interface RangeAction {
+        void run(int from, int to);
+    }
+
+    @SuppressWarnings("serial")
+    private static class ParallelLoop extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final RangeAction action;
+
+        private ParallelLoop(int from, int to, RangeAction action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_BLOCK) {
+                action.run(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ParallelLoop(from, middle, action), new ParallelLoop(middle, to, action));
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class Butterflies extends RecursiveAction {
+        private final double[] a;
+        private final double[] b;
+        private final double[] rootA;
+        private final double[] rootB;
+        private final int from;
+        private final int length;
+
+        private Butterflies(double[] a, double[] b, double[] rootA, double[] rootB, int from, int length) {
+            this.a = a;
+            this.b = b;
+            this.rootA = rootA;
+            this.rootB = rootB;
+            this.from = from;
+            this.length = length;
+        }
+
+        @Override
+        protected void compute() {
+            if (length <= SEQUENTIAL_BLOCK) {
+                for (int len = 2; len <= length; len <<= 1) {
+                    for (int i = from; i < from + length; i += len) {
+                        merge(i, len, 0, len >> 1);
+                    }
+                }
+                return;
+            }
+            int halfLen = length >> 1;
+            invokeAll(new Butterflies(a, b, rootA, rootB, from, halfLen),
+                    new Butterflies(a, b, rootA, rootB, from + halfLen, halfLen));
+            invokeAll(new ParallelLoop(0, halfLen, (start, end) -> merge(from, length, start, end)));
+        }
+
+        private void merge(int i, int len, int start, int end) {
+            int halfLen = len >> 1;
+            for (int j = start; j < end; j++) {
+                double wA = rootA[halfLen + j];
+                double wB = rootB[halfLen + j];
+                double uA = a[i + j];
+                double uB = b[i + j];
+                double vA = a[i + j + halfLen] * wA - b[i + j + halfLen] * wB;
+                double vB = a[i + j + halfLen] * wB + b[i + j + halfLen] * wA;
+                a[i + j] = uA + vA;
+                b[i + j] = uB + vB;
+                a[i + j + halfLen] = uA - vA;
+                b[i + j + halfLen] = uB - vB;
+            }
+        }
+    }
 }
@@ -0,0 +1,266 @@
+package template.egork.numbers;
+
+/**
+ * Exact convolution modulo an NTT-friendly prime. Values live in Montgomery form inside the transform, so butterflies
+ * need no division; roots of unity are precomputed once per prime (the table for the largest size seen serves all
+ * smaller sizes). The forward transform is decimation-in-frequency and the inverse is decimation-in-time, so no
+ * bit-reversal pass is needed at all.
+ *
+ * Arbitrary moduli and exact products are handled by {@link #multiply(long[], long[], long)} and
+ * {@link #multiplyExact(long[], long[])} with three primes and Garner's reconstruction.
+ */
+public class NumberTheoreticTransform {
+    public static final NumberTheoreticTransform MOD_998244353 = new NumberTheoreticTransform(998244353, 3);
+    public static final NumberTheoreticTransform MOD_167772161 = new NumberTheoreticTransform(167772161, 3);
+    public static final NumberTheoreticTransform MOD_469762049 = new NumberTheoreticTransform(469762049, 3);
+    public static final NumberTheoreticTransform MOD_754974721 = new NumberTheoreticTransform(754974721, 11);
+
+    private final int mod;
+    private final int primitiveRoot;
+    private final int maxSize;
+    private final int montgomeryFactor;
+    private final int rSquare;
+    private volatile int[] roots = new int[0];
+    private volatile int[] inverseRoots = new int[0];
+
+    /**
+     * @param mod prime below 2^30
+     * @param primitiveRoot generator of the multiplicative group modulo {@code mod}
+     */
+    public NumberTheoreticTransform(int mod, int primitiveRoot) {
+        if (mod <= 2 || mod >= 1 << 30) {
+            throw new IllegalArgumentException();
+        }
+        this.mod = mod;
+        this.primitiveRoot = primitiveRoot;
+        maxSize = Integer.lowestOneBit(mod - 1);
+        int inverse = mod;
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2 - mod * inverse;
+        }
+        montgomeryFactor = -inverse;
+        long r = (1L << 32) % mod;
+        rSquare = (int) (r * r % mod);
+    }
+
+    public int mod() {
+        return mod;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    public static int transformSize(int resultLength) {
+        return resultLength <= 1 ? 1 : Integer.highestOneBit(resultLength - 1) << 1;
+    }
+
+    public int[] multiply(int[] a, int[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return new int[0];
+        }
+        int size = transformSize(a.length + b.length - 1);
+        int[] result = new int[size];
+        int resultLength = multiply(a, a.length, b, b.length, result, a == b ? null : new int[size]);
+        int[] trimmed = new int[resultLength];
+        System.arraycopy(result, 0, trimmed, 0, resultLength);
+        return trimmed;
+    }
+
+    /**
+     * Writes the product of {@code a[0..aLength)} and {@code b[0..bLength)} (coefficients in {@code [0, mod)}) into
+     * {@code result} and returns its length. Both {@code result} and {@code buffer} must hold at least
+     * {@link #transformSize(int)} of the result length; {@code buffer} may be {@code null} when squaring
+     * ({@code a == b}), and {@code result} may be {@code a} itself. Nothing is allocated once the root table has grown
+     * to the required size.
+     */
+    public int multiply(int[] a, int aLength, int[] b, int bLength, int[] result, int[] buffer) {
+        if (aLength == 0 || bLength == 0) {
+            return 0;
+        }
+        int resultLength = aLength + bLength - 1;
+        int size = transformSize(resultLength);
+        ensureRoots(size);
+        boolean square = a == b && aLength == bLength;
+        load(a, aLength, result, size);
+        forward(result, size);
+        if (square) {
+            for (int i = 0; i < size; i++) {
+                result[i] = reduce((long) result[i] * result[i]);
+            }
+        } else {
+            load(b, bLength, buffer, size);
+            forward(buffer, size);
+            for (int i = 0; i < size; i++) {
+                result[i] = reduce((long) result[i] * buffer[i]);
+            }
+        }
+        inverse(result, size);
+        return resultLength;
+    }
+
+    /**
+     * Convolution modulo an arbitrary {@code mod} below 2^30, for results up to 2^24 long.
+     */
+    public static long[] multiply(long[] a, long[] b, long mod) {
+        if (a.length == 0 || b.length == 0) {
+            return new long[0];
+        }
+        long[] aReduced = reduce(a, mod);
+        int[][] residues = residues(aReduced, a == b ? aReduced : reduce(b, mod));
+        int m1 = MOD_167772161.mod;
+        int m2 = MOD_469762049.mod;
+        int m3 = MOD_754974721.mod;
+        long m1InverseModM2 = IntegerUtils.reverse(m1, m2);
+        long m12InverseModM3 = IntegerUtils.reverse((long) m1 * m2 % m3, m3);
+        long m1ModMod = m1 % mod;
+        long m12ModMod = (long) m1 * m2 % mod;
+        long[] result = new long[a.length + b.length - 1];
+        for (int i = 0; i < result.length; i++) {
+            long x1 = residues[0][i];
+            long x2 = (residues[1][i] - x1 % m2 + m2) * m1InverseModM2 % m2;
+            long x3 = ((residues[2][i] - (x1 + x2 * m1) % m3) % m3 + m3) * m12InverseModM3 % m3;
+            result[i] = (x1 % mod + x2 * m1ModMod % mod + x3 * m12ModMod % mod) % mod;
+        }
+        return result;
+    }
+
+    /**
+     * Exact convolution of non-negative coefficients, valid as long as every coefficient of the result fits into a
+     * {@code long}. Unlike {@link FastFourierTransform#multiply(long[], long[])} there is no rounding error.
+     */
+    public static long[] multiplyExact(long[] a, long[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return new long[0];
+        }
+        int[][] residues = residues(a, b);
+        int m1 = MOD_167772161.mod;
+        int m2 = MOD_469762049.mod;
+        int m3 = MOD_754974721.mod;
+        long m1InverseModM2 = IntegerUtils.reverse(m1, m2);
+        long m12InverseModM3 = IntegerUtils.reverse((long) m1 * m2 % m3, m3);
+        long m12 = (long) m1 * m2;
+        long[] result = new long[a.length + b.length - 1];
+        for (int i = 0; i < result.length; i++) {
+            long x1 = residues[0][i];
+            long x2 = (residues[1][i] - x1 % m2 + m2) * m1InverseModM2 % m2;
+            long x3 = ((residues[2][i] - (x1 + x2 * m1) % m3) % m3 + m3) * m12InverseModM3 % m3;
+            result[i] = x1 + x2 * m1 + x3 * m12;
+        }
+        return result;
+    }
+
+    private static long[] reduce(long[] a, long mod) {
+        long[] result = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            result[i] = (a[i] % mod + mod) % mod;
+        }
+        return result;
+    }
+
+    private static int[][] residues(long[] a, long[] b) {
+        NumberTheoreticTransform[] transforms = {MOD_167772161, MOD_469762049, MOD_754974721};
+        int size = transformSize(a.length + b.length - 1);
+        int[][] residues = new int[3][];
+        for (int k = 0; k < 3; k++) {
+            NumberTheoreticTransform transform = transforms[k];
+            long mod = transform.mod;
+            int[] aResidues = new int[size];
+            for (int i = 0; i < a.length; i++) {
+                aResidues[i] = (int) ((a[i] % mod + mod) % mod);
+            }
+            int[] bResidues = aResidues;
+            if (a != b) {
+                bResidues = new int[size];
+                for (int i = 0; i < b.length; i++) {
+                    bResidues[i] = (int) ((b[i] % mod + mod) % mod);
+                }
+            }
+            transform.multiply(aResidues, a.length, bResidues, b.length, aResidues, bResidues);
+            residues[k] = aResidues;
+        }
+        return residues;
+    }
+
+    private void load(int[] source, int length, int[] destination, int size) {
+        for (int i = 0; i < length; i++) {
+            destination[i] = reduce((long) source[i] * rSquare);
+        }
+        for (int i = length; i < size; i++) {
+            destination[i] = 0;
+        }
+    }
+
+    private void forward(int[] a, int size) {
+        int[] roots = this.roots;
+        for (int half = size >> 1; half >= 1; half >>= 1) {
+            for (int i = 0; i < size; i += 2 * half) {
+                for (int j = i, k = half; j < i + half; j++, k++) {
+                    int u = a[j];
+                    int v = a[j + half];
+                    int sum = u + v;
+                    a[j] = sum >= mod ? sum - mod : sum;
+                    int difference = u - v;
+                    a[j + half] = reduce((long) (difference < 0 ? difference + mod : difference) * roots[k]);
+                }
+            }
+        }
+    }
+
+    private void inverse(int[] a, int size) {
+        int[] roots = inverseRoots;
+        for (int half = 1; half < size; half <<= 1) {
+            for (int i = 0; i < size; i += 2 * half) {
+                for (int j = i, k = half; j < i + half; j++, k++) {
+                    int u = a[j];
+                    int v = reduce((long) a[j + half] * roots[k]);
+                    int sum = u + v;
+                    a[j] = sum >= mod ? sum - mod : sum;
+                    int difference = u - v;
+                    a[j + half] = difference < 0 ? difference + mod : difference;
+                }
+            }
+        }
+        long sizeInverse = IntegerUtils.reverse(size, mod);
+        for (int i = 0; i < size; i++) {
+            a[i] = reduce(a[i] * sizeInverse);
+        }
+    }
+
+    private int reduce(long value) {
+        int m = (int) value * montgomeryFactor;
+        long result = (value + (m & 0xFFFFFFFFL) * mod) >>> 32;
+        return (int) (result >= mod ? result - mod : result);
+    }
+
+    private void ensureRoots(int size) {
+        if (size > maxSize) {
+            throw new IllegalArgumentException("Transform of size " + size + " is not supported modulo " + mod);
+        }
+        if (roots.length >= size) {
+            return;
+        }
+        synchronized (this) {
+            if (roots.length >= size) {
+                return;
+            }
+            long inverseRoot = IntegerUtils.reverse(primitiveRoot, mod);
+            int[] newRoots = new int[size];
+            int[] newInverseRoots = new int[size];
+            for (int half = 1; half < size; half <<= 1) {
+                long step = IntegerUtils.power(primitiveRoot, (mod - 1) / (2 * half), mod);
+                long inverseStep = IntegerUtils.power(inverseRoot, (mod - 1) / (2 * half), mod);
+                long current = 1;
+                long inverseCurrent = 1;
+                for (int j = 0; j < half; j++) {
+                    newRoots[half + j] = reduce(current * rSquare);
+                    newInverseRoots[half + j] = reduce(inverseCurrent * rSquare);
+                    current = current * step % mod;
+                    inverseCurrent = inverseCurrent * inverseStep % mod;
+                }
+            }
+            inverseRoots = newInverseRoots;
+            roots = newRoots;
+        }
+    }
+}
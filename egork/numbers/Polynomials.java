@@ -0,0 +1,359 @@
+package template.egork.numbers;
+
+import java.util.Arrays;
+
+/**
+ * Polynomial arithmetic modulo an NTT-friendly prime: Newton-iteration inverse, square root, logarithm and exponent
+ * modulo x^n, division with remainder, and subproduct-tree multipoint evaluation and interpolation in
+ * O(n log^2 n). Polynomials are {@code int[]} coefficient arrays, lowest degree first, with coefficients in
+ * {@code [0, mod)}.
+ *
+ * Convolution scratch buffers are kept in the instance and reused between calls, so an instance must not be shared
+ * between threads.
+ */
+public class Polynomials {
+    private static final int NAIVE_THRESHOLD = 32;
+
+    private final NumberTheoreticTransform transform;
+    private final int mod;
+    private int[] product = new int[0];
+    private int[] buffer = new int[0];
+
+    public Polynomials() {
+        this(NumberTheoreticTransform.MOD_998244353);
+    }
+
+    public Polynomials(NumberTheoreticTransform transform) {
+        this.transform = transform;
+        mod = transform.mod();
+    }
+
+    public int mod() {
+        return mod;
+    }
+
+    public int[] multiply(int[] a, int[] b) {
+        int length = multiply(a, a.length, b, b.length);
+        return Arrays.copyOf(product, length);
+    }
+
+    /**
+     * Returns 1 / a modulo x^n; a[0] must not be zero.
+     */
+    public int[] inverse(int[] a, int n) {
+        if (a.length == 0 || a[0] == 0) {
+            throw new ArithmeticException("Constant term is zero");
+        }
+        int[] result = new int[n];
+        result[0] = (int) IntegerUtils.reverse(a[0], mod);
+        int[] temp = new int[n];
+        for (int length = 1; length < n; ) {
+            int next = Math.min(2 * length, n);
+            int productLength = multiply(a, Math.min(a.length, next), result, length);
+            for (int i = 0; i < next; i++) {
+                temp[i] = i < productLength && product[i] != 0 ? mod - product[i] : 0;
+            }
+            temp[0] = (temp[0] + 2) % mod;
+            multiply(temp, next, result, length);
+            System.arraycopy(product, 0, result, 0, next);
+            length = next;
+        }
+        return result;
+    }
+
+    /**
+     * Returns a square root of a modulo x^n.
+     *
+     * @throws ArithmeticException if a has no square root
+     */
+    public int[] sqrt(int[] a, int n) {
+        int shift = 0;
+        while (shift < a.length && a[shift] == 0) {
+            shift++;
+        }
+        int[] result = new int[n];
+        if (shift == a.length || shift / 2 >= n) {
+            return result;
+        }
+        if ((shift & 1) != 0) {
+            throw new ArithmeticException("No square root");
+        }
+        int[] shifted = Arrays.copyOfRange(a, shift, a.length);
+        int length = n - shift / 2;
+        long inverseTwo = (mod + 1) / 2;
+        int[] root = new int[length];
+        root[0] = (int) sqrt(shifted[0]);
+        for (int current = 1; current < length; ) {
+            int next = Math.min(2 * current, length);
+            int[] rootInverse = inverse(Arrays.copyOf(root, current), next);
+            multiply(shifted, Math.min(shifted.length, next), rootInverse, next);
+            for (int i = 0; i < next; i++) {
+                root[i] = (int) ((root[i] + (long) product[i]) * inverseTwo % mod);
+            }
+            current = next;
+        }
+        System.arraycopy(root, 0, result, shift / 2, length);
+        return result;
+    }
+
+    /**
+     * Returns ln(a) modulo x^n; a[0] must be 1.
+     */
+    public int[] log(int[] a, int n) {
+        if (a.length == 0 || a[0] != 1) {
+            throw new ArithmeticException("Constant term is not 1");
+        }
+        int[] result = new int[n];
+        if (n == 1 || a.length == 1) {
+            return result;
+        }
+        int[] derivative = derivative(a, Math.min(a.length, n));
+        int[] aInverse = inverse(a, n - 1);
+        multiply(derivative, derivative.length, aInverse, n - 1);
+        long[] reverse = IntegerUtils.generateReverse(n, mod);
+        for (int i = 1; i < n; i++) {
+            result[i] = (int) (product[i - 1] * reverse[i] % mod);
+        }
+        return result;
+    }
+
+    /**
+     * Returns exp(a) modulo x^n; a[0] must be 0.
+     */
+    public int[] exp(int[] a, int n) {
+        if (a.length != 0 && a[0] != 0) {
+            throw new ArithmeticException("Constant term is not 0");
+        }
+        int[] result = new int[n];
+        result[0] = 1;
+        int[] temp = new int[n];
+        for (int length = 1; length < n; ) {
+            int next = Math.min(2 * length, n);
+            int[] log = log(Arrays.copyOf(result, length), next);
+            for (int i = 0; i < next; i++) {
+                int value = (i < a.length ? a[i] : 0) - log[i];
+                temp[i] = value < 0 ? value + mod : value;
+            }
+            temp[0] = (temp[0] + 1) % mod;
+            multiply(temp, next, result, length);
+            System.arraycopy(product, 0, result, 0, next);
+            length = next;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the quotient of a divided by b; the leading coefficient of b must not be zero.
+     */
+    public int[] divide(int[] a, int[] b) {
+        int aLength = degree(a) + 1;
+        int bLength = degree(b) + 1;
+        if (bLength == 0) {
+            throw new ArithmeticException("Division by zero polynomial");
+        }
+        if (aLength < bLength) {
+            return new int[0];
+        }
+        int length = aLength - bLength + 1;
+        int[] aReversed = reverse(a, aLength, length);
+        int[] bReversed = reverse(b, bLength, Math.min(bLength, length));
+        int[] bInverse = inverse(bReversed, length);
+        multiply(aReversed, length, bInverse, length);
+        int[] quotient = new int[length];
+        for (int i = 0; i < length; i++) {
+            quotient[i] = product[length - 1 - i];
+        }
+        return quotient;
+    }
+
+    /**
+     * Returns a modulo b, as an array of exactly {@code degree(b)} coefficients.
+     */
+    public int[] remainder(int[] a, int[] b) {
+        int bLength = degree(b) + 1;
+        int[] quotient = divide(a, b);
+        int[] remainder = Arrays.copyOf(a, bLength - 1);
+        if (quotient.length == 0) {
+            return remainder;
+        }
+        multiply(b, bLength, quotient, quotient.length);
+        for (int i = 0; i < bLength - 1; i++) {
+            int value = remainder[i] - product[i];
+            remainder[i] = value < 0 ? value + mod : value;
+        }
+        return remainder;
+    }
+
+    /**
+     * Returns the values of {@code polynomial} at every point of {@code points}.
+     */
+    public int[] evaluate(int[] polynomial, int[] points) {
+        int[] result = new int[points.length];
+        if (points.length == 0) {
+            return result;
+        }
+        int[][] tree = buildTree(points);
+        evaluate(remainder(polynomial, tree[1]), points, tree, 1, 0, points.length, result);
+        return result;
+    }
+
+    /**
+     * Returns the polynomial of degree below {@code x.length} that takes value {@code y[i]} at {@code x[i]}; points
+     * must be distinct.
+     */
+    public int[] interpolate(int[] x, int[] y) {
+        if (x.length == 0) {
+            return new int[0];
+        }
+        int[][] tree = buildTree(x);
+        int[] root = tree[1];
+        int[] weights = new int[x.length];
+        evaluate(remainder(derivative(root, root.length), root), x, tree, 1, 0, x.length, weights);
+        for (int i = 0; i < x.length; i++) {
+            weights[i] = (int) (y[i] * IntegerUtils.reverse(weights[i], mod) % mod);
+        }
+        return combine(weights, tree, 1, 0, x.length);
+    }
+
+    private int[][] buildTree(int[] points) {
+        int[][] tree = new int[4 * points.length][];
+        buildTree(points, tree, 1, 0, points.length);
+        return tree;
+    }
+
+    private void buildTree(int[] points, int[][] tree, int node, int from, int to) {
+        if (to - from == 1) {
+            tree[node] = new int[]{points[from] == 0 ? 0 : mod - points[from], 1};
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        buildTree(points, tree, 2 * node, from, middle);
+        buildTree(points, tree, 2 * node + 1, middle, to);
+        tree[node] = multiply(tree[2 * node], tree[2 * node + 1]);
+    }
+
+    private void evaluate(int[] polynomial, int[] points, int[][] tree, int node, int from, int to, int[] result) {
+        if (to - from <= NAIVE_THRESHOLD) {
+            for (int i = from; i < to; i++) {
+                long value = 0;
+                for (int j = polynomial.length - 1; j >= 0; j--) {
+                    value = (value * points[i] + polynomial[j]) % mod;
+                }
+                result[i] = (int) value;
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        evaluate(remainder(polynomial, tree[2 * node]), points, tree, 2 * node, from, middle, result);
+        evaluate(remainder(polynomial, tree[2 * node + 1]), points, tree, 2 * node + 1, middle, to, result);
+    }
+
+    private int[] combine(int[] weights, int[][] tree, int node, int from, int to) {
+        if (to - from == 1) {
+            return new int[]{weights[from]};
+        }
+        int middle = (from + to) >>> 1;
+        int[] left = combine(weights, tree, 2 * node, from, middle);
+        int[] right = combine(weights, tree, 2 * node + 1, middle, to);
+        int[] result = multiply(left, tree[2 * node + 1]);
+        multiply(right, right.length, tree[2 * node], tree[2 * node].length);
+        for (int i = 0; i < result.length; i++) {
+            int value = result[i] + product[i];
+            result[i] = value >= mod ? value - mod : value;
+        }
+        return result;
+    }
+
+    private int multiply(int[] a, int aLength, int[] b, int bLength) {
+        if (aLength == 0 || bLength == 0) {
+            return 0;
+        }
+        int length = aLength + bLength - 1;
+        if (Math.min(aLength, bLength) <= NAIVE_THRESHOLD) {
+            ensureCapacity(length);
+            Arrays.fill(product, 0, length, 0);
+            for (int i = 0; i < aLength; i++) {
+                if (a[i] == 0) {
+                    continue;
+                }
+                for (int j = 0; j < bLength; j++) {
+                    product[i + j] = (int) ((product[i + j] + (long) a[i] * b[j]) % mod);
+                }
+            }
+            return length;
+        }
+        ensureCapacity(NumberTheoreticTransform.transformSize(length));
+        return transform.multiply(a, aLength, b, bLength, product, a == b && aLength == bLength ? null : buffer);
+    }
+
+    private void ensureCapacity(int size) {
+        if (product.length < size) {
+            size = Math.max(size, 2 * product.length);
+            product = new int[size];
+            buffer = new int[size];
+        }
+    }
+
+    private int[] derivative(int[] a, int length) {
+        int[] result = new int[Math.max(length - 1, 0)];
+        for (int i = 1; i < length; i++) {
+            result[i - 1] = (int) ((long) a[i] * i % mod);
+        }
+        return result;
+    }
+
+    private static int degree(int[] a) {
+        int degree = a.length - 1;
+        while (degree >= 0 && a[degree] == 0) {
+            degree--;
+        }
+        return degree;
+    }
+
+    private static int[] reverse(int[] a, int length, int count) {
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = a[length - 1 - i];
+        }
+        return result;
+    }
+
+    private long sqrt(long value) {
+        if (value == 0 || mod == 2) {
+            return value;
+        }
+        if (IntegerUtils.power(value, (mod - 1) / 2, mod) != 1) {
+            throw new ArithmeticException("No square root");
+        }
+        long q = mod - 1;
+        int s = 0;
+        while ((q & 1) == 0) {
+            q >>= 1;
+            s++;
+        }
+        long z = 2;
+        while (IntegerUtils.power(z, (mod - 1) / 2, mod) != mod - 1) {
+            z++;
+        }
+        long c = IntegerUtils.power(z, q, mod);
+        long t = IntegerUtils.power(value, q, mod);
+        long result = IntegerUtils.power(value, (q + 1) / 2, mod);
+        while (t != 1) {
+            int i = 0;
+            long square = t;
+            while (square != 1) {
+                square = square * square % mod;
+                i++;
+            }
+            long b = c;
+            for (int j = 0; j < s - i - 1; j++) {
+                b = b * b % mod;
+            }
+            result = result * b % mod;
+            c = b * b % mod;
+            t = t * c % mod;
+            s = i;
+        }
+        return Math.min(result, mod - result);
+    }
+}
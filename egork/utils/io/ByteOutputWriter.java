@@ -0,0 +1,335 @@
+package template.egork.utils.io;
+
+import template.egork.generated.collections.IntCollection;
+import template.egork.generated.collections.LongCollection;
+import template.egork.generated.collections.iterator.IntIterator;
+import template.egork.generated.collections.iterator.LongIterator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * {@link OutputWriter} that formats numbers straight into a reusable {@code byte[]} and hands full buffers to an
+ * {@link OutputStream} or a {@link WritableByteChannel}. Integers, arrays and primitive collections produce no garbage
+ * per number; everything else goes through the usual {@link OutputWriter} path into the same buffer, so relative order
+ * of output is preserved.
+ */
+public class ByteOutputWriter extends OutputWriter {
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes();
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final OutputStream stream;
+    private final WritableByteChannel channel;
+    private final byte[] buffer;
+    private final byte[] newLine = System.lineSeparator().getBytes();
+    private int position;
+
+    public ByteOutputWriter(OutputStream stream) {
+        this(new Sink(), stream, null, 1 << 16);
+    }
+
+    public ByteOutputWriter(WritableByteChannel channel) {
+        this(new Sink(), null, channel, 1 << 16);
+    }
+
+    public ByteOutputWriter(WritableByteChannel channel, int bufferSize) {
+        this(new Sink(), null, channel, bufferSize);
+    }
+
+    private ByteOutputWriter(Sink sink, OutputStream stream, WritableByteChannel channel, int bufferSize) {
+        super(sink);
+        sink.owner = this;
+        this.stream = stream;
+        this.channel = channel;
+        buffer = new byte[Math.max(bufferSize, 64)];
+    }
+
+    @Override
+    public void print(int i) {
+        print((long) i);
+    }
+
+    @Override
+    public void printLine(int i) {
+        print((long) i);
+        printLine();
+    }
+
+    @Override
+    public void print(long i) {
+        ensureCapacity(20);
+        if (i == Long.MIN_VALUE) {
+            System.arraycopy(MIN_LONG, 0, buffer, position, MIN_LONG.length);
+            position += MIN_LONG.length;
+            return;
+        }
+        if (i < 0) {
+            buffer[position++] = '-';
+            i = -i;
+        }
+        writeDigits(i, digitCount(i));
+    }
+
+    @Override
+    public void printLine(long i) {
+        print(i);
+        printLine();
+    }
+
+    /**
+     * Prints {@code value} with exactly {@code precision} digits after the point. Values that fit into 13 significant
+     * digits are formatted in place; on decimal ties (like 1.005) the binary value decides, as in C's printf, so the last
+     * digit may differ from {@link String#format}.
+     */
+    public void print(double value, int precision) {
+        if (Double.isNaN(value) || Double.isInfinite(value) || precision >= POWERS_OF_TEN.length ||
+                Math.abs(value) * POWERS_OF_TEN[precision] >= 1e13) {
+            writeString(String.format("%." + precision + "f", value));
+            return;
+        }
+        ensureCapacity(40);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        long scaled = Math.round(value * POWERS_OF_TEN[precision]);
+        long integer = scaled / POWERS_OF_TEN[precision];
+        writeDigits(integer, digitCount(integer));
+        if (precision != 0) {
+            buffer[position++] = '.';
+            writeDigits(scaled - integer * POWERS_OF_TEN[precision], precision);
+        }
+    }
+
+    public void printLine(double value, int precision) {
+        print(value, precision);
+        printLine();
+    }
+
+    @Override
+    public void print(int[] array) {
+        for (int i = 0; i < array.length; i++) {
+            if (i != 0) {
+                print(' ');
+            }
+            print(array[i]);
+        }
+    }
+
+    @Override
+    public void printLine(int[] array) {
+        print(array);
+        printLine();
+    }
+
+    @Override
+    public void print(long[] array) {
+        for (int i = 0; i < array.length; i++) {
+            if (i != 0) {
+                print(' ');
+            }
+            print(array[i]);
+        }
+    }
+
+    @Override
+    public void printLine(long[] array) {
+        print(array);
+        printLine();
+    }
+
+    @Override
+    public void print(IntCollection collection) {
+        boolean first = true;
+        for (IntIterator it = collection.intIterator(); it.isValid(); it.advance()) {
+            if (first) {
+                first = false;
+            } else {
+                print(' ');
+            }
+            print(it.value());
+        }
+    }
+
+    @Override
+    public void printLine(IntCollection collection) {
+        print(collection);
+        printLine();
+    }
+
+    @Override
+    public void print(LongCollection collection) {
+        boolean first = true;
+        for (LongIterator it = collection.longIterator(); it.isValid(); it.advance()) {
+            if (first) {
+                first = false;
+            } else {
+                print(' ');
+            }
+            print(it.value());
+        }
+    }
+
+    @Override
+    public void printLine(LongCollection collection) {
+        print(collection);
+        printLine();
+    }
+
+    @Override
+    public void print(char i) {
+        if (i < 0x80) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) i;
+        } else {
+            writeString(String.valueOf(i));
+        }
+    }
+
+    @Override
+    public void printLine(char i) {
+        print(i);
+        printLine();
+    }
+
+    @Override
+    public void print(char[] array) {
+        write(array, 0, array.length);
+    }
+
+    @Override
+    public void printLine(char[] array) {
+        print(array);
+        printLine();
+    }
+
+    @Override
+    public void printLine() {
+        ensureCapacity(newLine.length);
+        System.arraycopy(newLine, 0, buffer, position, newLine.length);
+        position += newLine.length;
+    }
+
+    @Override
+    public void flush() {
+        flushBuffer();
+        try {
+            if (stream != null) {
+                stream.flush();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        try {
+            if (stream != null) {
+                stream.close();
+            } else {
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static int digitCount(long value) {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private void writeDigits(long value, int digits) {
+        position += digits;
+        for (int i = position - 1; i >= position - digits; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private void writeString(String s) {
+        byte[] bytes = s.getBytes();
+        if (bytes.length > buffer.length) {
+            flushBuffer();
+            writeTarget(bytes, bytes.length);
+            return;
+        }
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void write(char[] chars, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (chars[i] >= 0x80) {
+                writeString(new String(chars, offset, length));
+                return;
+            }
+        }
+        for (int i = offset; i < offset + length; i++) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) chars[i];
+        }
+    }
+
+    private void ensureCapacity(int length) {
+        if (position + length > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() {
+        if (position != 0) {
+            writeTarget(buffer, position);
+            position = 0;
+        }
+    }
+
+    private void writeTarget(byte[] bytes, int length) {
+        try {
+            if (stream != null) {
+                stream.write(bytes, 0, length);
+            } else {
+                ByteBuffer wrapped = ByteBuffer.wrap(bytes, 0, length);
+                while (wrapped.hasRemaining()) {
+                    channel.write(wrapped);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static class Sink extends Writer {
+        private ByteOutputWriter owner;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            owner.write(cbuf, off, len);
+        }
+
+        @Override
+        public void flush() {
+            owner.flushBuffer();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
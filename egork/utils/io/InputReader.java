@@ -2,17 +2,23 @@ package template.egork.utils.io;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.math.BigInteger;
+import java.nio.ByteOrder;
 import java.util.InputMismatchException;
 
 /**
  * @author Egor Kulikov (kulikov@devexperts.com)
  */
 public class InputReader {
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+
     private boolean finished = false;
 
     private InputStream stream;
-    private byte[] buf = new byte[1024];
+    private byte[] buf = new byte[1 << 16];
     private int curChar;
     private int numChars;
     private SpaceCharFilter filter;
@@ -58,6 +64,9 @@ public class InputReader {
     }
 
     public int readInt() {
+        if (filter == null) {
+            return (int) readNumber();
+        }
         int c = read();
         while (isSpaceChar(c)) {
             c = read();
@@ -80,6 +89,9 @@ public class InputReader {
     }
 
     public long readLong() {
+        if (filter == null) {
+            return readNumber();
+        }
         int c = read();
         while (isSpaceChar(c)) {
             c = read();
@@ -101,6 +113,98 @@ public class InputReader {
         return res * sgn;
     }
 
+    public void readInts(int[] array, int from, int to) {
+        for (int i = from; i < to; i++) {
+            array[i] = readInt();
+        }
+    }
+
+    public void readLongs(long[] array, int from, int to) {
+        for (int i = from; i < to; i++) {
+            array[i] = readLong();
+        }
+    }
+
+    public void readDoubles(double[] array, int from, int to) {
+        for (int i = from; i < to; i++) {
+            array[i] = readDouble();
+        }
+    }
+
+    private boolean fill() {
+        if (numChars == -1) {
+            return false;
+        }
+        curChar = 0;
+        try {
+            numChars = stream.read(buf);
+        } catch (IOException e) {
+            throw new InputMismatchException();
+        }
+        return numChars > 0;
+    }
+
+    private long readNumber() {
+        int c;
+        do {
+            if (curChar >= numChars && !fill()) {
+                throw new InputMismatchException();
+            }
+            c = buf[curChar++];
+        } while (isWhitespace(c));
+        boolean negative = c == '-';
+        if (negative) {
+            if (curChar >= numChars && !fill()) {
+                throw new InputMismatchException();
+            }
+            c = buf[curChar++];
+        }
+        if (c < '0' || c > '9') {
+            throw new InputMismatchException();
+        }
+        long res = c - '0';
+        while (true) {
+            if (curChar + 8 <= numChars) {
+                long word = (long) LONG_VIEW.get(buf, curChar);
+                if (isEightDigits(word)) {
+                    res = res * 100000000 + parseEightDigits(word);
+                    curChar += 8;
+                    continue;
+                }
+            } else if (curChar >= numChars && !fill()) {
+                break;
+            }
+            c = buf[curChar];
+            if (c < '0' || c > '9') {
+                if (!isWhitespace(c)) {
+                    throw new InputMismatchException();
+                }
+                curChar++;
+                break;
+            }
+            res = res * 10 + c - '0';
+            curChar++;
+        }
+        return negative ? -res : res;
+    }
+
+    /**
+     * Checks that all 8 bytes of a little-endian word are ASCII digits.
+     */
+    static boolean isEightDigits(long word) {
+        return ((word & 0xF0F0F0F0F0F0F0F0L) | (((word + 0x0606060606060606L) & 0xF0F0F0F0F0F0F0F0L) >>> 4))
+                == 0x3333333333333333L;
+    }
+
+    /**
+     * Parses 8 ASCII digits packed into a little-endian word (first digit in the lowest byte) with three multiplies.
+     */
+    static int parseEightDigits(long word) {
+        word = ((word & 0x0F0F0F0F0F0F0F0FL) * 2561) >>> 8;
+        word = ((word & 0x00FF00FF00FF00FFL) * 6553601) >>> 16;
+        return (int) (((word & 0x0000FFFF0000FFFFL) * 42949672960001L) >>> 32);
+    }
+
     public String readString() {
         int c = read();
         while (isSpaceChar(c)) {
@@ -0,0 +1,158 @@
+package template.egork.utils.io;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.InputMismatchException;
+
+/**
+ * {@link InputReader} over a memory-mapped file. Bytes are taken straight from a {@link MappedByteBuffer}; files larger
+ * than 2GB are mapped window by window as the reader advances. {@link #readInt()} and {@link #readLong()} parse
+ * without allocating, eight digits at a time where possible; all other readers behave exactly as in
+ * {@link InputReader}.
+ */
+public class MappedInputReader extends InputReader {
+    private static final long WINDOW = Integer.MAX_VALUE;
+
+    private final FileChannel channel;
+    private final long size;
+    private MappedByteBuffer buffer;
+    private long base;
+    private int position;
+    private int limit;
+    private boolean finished;
+
+    public MappedInputReader(String fileName) {
+        this(open(fileName));
+    }
+
+    public MappedInputReader(FileChannel channel) {
+        super(null);
+        this.channel = channel;
+        try {
+            size = channel.size();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        map(0);
+    }
+
+    private static FileChannel open(String fileName) {
+        try {
+            return FileChannel.open(Paths.get(fileName), StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void map(long offset) {
+        base = offset;
+        position = 0;
+        limit = (int) Math.min(WINDOW, size - offset);
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, limit);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+        } catch (IOException e) {
+            throw new InputMismatchException();
+        }
+    }
+
+    private boolean ensure() {
+        if (position < limit) {
+            return true;
+        }
+        if (base + limit >= size) {
+            return false;
+        }
+        map(base + limit);
+        return true;
+    }
+
+    @Override
+    public int read() {
+        if (finished) {
+            throw new InputMismatchException();
+        }
+        if (!ensure()) {
+            finished = true;
+            return -1;
+        }
+        return buffer.get(position++);
+    }
+
+    @Override
+    public int peek() {
+        if (finished || !ensure()) {
+            return -1;
+        }
+        return buffer.get(position);
+    }
+
+    @Override
+    public int readInt() {
+        if (getFilter() != null) {
+            return super.readInt();
+        }
+        return (int) readNumber();
+    }
+
+    @Override
+    public long readLong() {
+        if (getFilter() != null) {
+            return super.readLong();
+        }
+        return readNumber();
+    }
+
+    private long readNumber() {
+        int c = read();
+        while (isWhitespace(c)) {
+            c = read();
+        }
+        boolean negative = c == '-';
+        if (negative) {
+            c = read();
+        }
+        if (c < '0' || c > '9') {
+            throw new InputMismatchException();
+        }
+        long res = c - '0';
+        while (true) {
+            if (limit - position >= 8) {
+                long word = buffer.getLong(position);
+                if (isEightDigits(word)) {
+                    res = res * 100000000 + parseEightDigits(word);
+                    position += 8;
+                    continue;
+                }
+            } else if (!ensure()) {
+                break;
+            }
+            c = buffer.get(position);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            res = res * 10 + c - '0';
+            position++;
+        }
+        if (!isWhitespace(read())) {
+            throw new InputMismatchException();
+        }
+        return negative ? -res : res;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package template.egork.utils.io;
 
+import template.egork.generated.collections.IntCollection;
+import template.egork.generated.collections.LongCollection;
+
 import java.io.BufferedWriter;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
@@ -75,6 +78,22 @@ public class OutputWriter {
         writer.println();
     }
 
+    public void print(IntCollection collection) {
+        writer.print(collection);
+    }
+
+    public void printLine(IntCollection collection) {
+        writer.println(collection);
+    }
+
+    public void print(LongCollection collection) {
+        writer.print(collection);
+    }
+
+    public void printLine(LongCollection collection) {
+        writer.println(collection);
+    }
+
     public void printLine() {
         writer.println();
     }
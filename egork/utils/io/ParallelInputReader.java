@@ -0,0 +1,271 @@
+package template.egork.utils.io;
+
+import template.egork.generated.collections.list.IntArray;
+import template.egork.generated.collections.list.IntArrayList;
+import template.egork.generated.collections.list.LongArray;
+import template.egork.generated.collections.list.LongArrayList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Reads a whole file of whitespace-separated integers on several threads. The file is cut into chunks at whitespace
+ * boundaries, every chunk is memory-mapped and parsed on its own into a primitive segment (eight digits at a time, as
+ * in {@link MappedInputReader}), and the segments are stitched together in file order.
+ */
+public class ParallelInputReader {
+    private static final long MAX_CHUNK = 1L << 30;
+    private static final int BOUNDARY_WINDOW = 64;
+
+    private final FileChannel channel;
+    private final long size;
+    private final int parallelism;
+
+    public ParallelInputReader(String fileName) {
+        this(fileName, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelInputReader(String fileName, int parallelism) {
+        this.parallelism = parallelism;
+        try {
+            channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ);
+            size = channel.size();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public IntArrayList readIntList() {
+        IntArray[] segments = parse(buffer -> new IntArray(parseInts(buffer)), IntArray[]::new);
+        long total = 0;
+        for (IntArray segment : segments) {
+            total += segment.size();
+        }
+        IntArrayList result = new IntArrayList(checkedSize(total));
+        for (IntArray segment : segments) {
+            result.addAll(segment);
+        }
+        return result;
+    }
+
+    public LongArrayList readLongList() {
+        LongArray[] segments = parse(buffer -> new LongArray(parseLongs(buffer)), LongArray[]::new);
+        long total = 0;
+        for (LongArray segment : segments) {
+            total += segment.size();
+        }
+        LongArrayList result = new LongArrayList(checkedSize(total));
+        for (LongArray segment : segments) {
+            result.addAll(segment);
+        }
+        return result;
+    }
+
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static int checkedSize(long total) {
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalStateException("File holds " + total + " numbers, a list holds at most " +
+                    Integer.MAX_VALUE);
+        }
+        return (int) total;
+    }
+
+    private <T> T[] parse(ChunkParser<T> parser, IntFunction<T[]> arrayFactory) {
+        long[] bounds = split();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Callable<T>> tasks = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                long from = bounds[i];
+                long to = bounds[i + 1];
+                tasks.add(() -> parser.parse(map(from, to)));
+            }
+            T[] segments = arrayFactory.apply(tasks.size());
+            List<Future<T>> futures = pool.invokeAll(tasks);
+            for (int i = 0; i < segments.length; i++) {
+                segments[i] = futures.get(i).get();
+            }
+            return segments;
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private long[] split() {
+        int chunkCount = (int) Math.max(4L * parallelism, (size + MAX_CHUNK - 1) / MAX_CHUNK);
+        chunkCount = (int) Math.max(1, Math.min(chunkCount, size));
+        long[] bounds = new long[chunkCount + 1];
+        bounds[chunkCount] = size;
+        ByteBuffer window = ByteBuffer.allocate(BOUNDARY_WINDOW);
+        for (int i = 1; i < chunkCount; i++) {
+            bounds[i] = boundary(Math.max(bounds[i - 1], size / chunkCount * i), window);
+        }
+        return bounds;
+    }
+
+    /**
+     * Returns the first position at or after {@code at} that follows a whitespace byte (or the end of the file), so
+     * that no number is cut in two. Bytes are read a small window at a time.
+     */
+    private long boundary(long at, ByteBuffer window) {
+        if (at == 0) {
+            return 0;
+        }
+        try {
+            for (long position = at - 1; position < size; ) {
+                window.clear();
+                int read = channel.read(window, position);
+                if (read <= 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (InputReader.isWhitespace(window.get(i))) {
+                        return position + i + 1;
+                    }
+                }
+                position += read;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return size;
+    }
+
+    private MappedByteBuffer map(long from, long to) {
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static int[] parseInts(MappedByteBuffer buffer) {
+        int[] segment = new int[Math.max(16, buffer.limit() >> 3)];
+        int count = 0;
+        int limit = buffer.limit();
+        int position = 0;
+        while (true) {
+            while (position < limit && InputReader.isWhitespace(buffer.get(position))) {
+                position++;
+            }
+            if (position == limit) {
+                break;
+            }
+            int c = buffer.get(position++);
+            boolean negative = c == '-';
+            if (negative) {
+                c = position < limit ? buffer.get(position++) : -1;
+            }
+            if (c < '0' || c > '9') {
+                throw new InputMismatchException();
+            }
+            long res = c - '0';
+            while (position < limit) {
+                if (position + 8 <= limit) {
+                    long word = buffer.getLong(position);
+                    if (InputReader.isEightDigits(word)) {
+                        res = res * 100000000 + InputReader.parseEightDigits(word);
+                        position += 8;
+                        continue;
+                    }
+                }
+                c = buffer.get(position);
+                if (c < '0' || c > '9') {
+                    if (!InputReader.isWhitespace(c)) {
+                        throw new InputMismatchException();
+                    }
+                    break;
+                }
+                res = res * 10 + c - '0';
+                position++;
+            }
+            if (count == segment.length) {
+                segment = Arrays.copyOf(segment, count + (count >> 1));
+            }
+            segment[count++] = (int) (negative ? -res : res);
+        }
+        return Arrays.copyOf(segment, count);
+    }
+
+    private static long[] parseLongs(MappedByteBuffer buffer) {
+        long[] segment = new long[Math.max(16, buffer.limit() >> 3)];
+        int count = 0;
+        int limit = buffer.limit();
+        int position = 0;
+        while (true) {
+            while (position < limit && InputReader.isWhitespace(buffer.get(position))) {
+                position++;
+            }
+            if (position == limit) {
+                break;
+            }
+            int c = buffer.get(position++);
+            boolean negative = c == '-';
+            if (negative) {
+                c = position < limit ? buffer.get(position++) : -1;
+            }
+            if (c < '0' || c > '9') {
+                throw new InputMismatchException();
+            }
+            long res = c - '0';
+            while (position < limit) {
+                if (position + 8 <= limit) {
+                    long word = buffer.getLong(position);
+                    if (InputReader.isEightDigits(word)) {
+                        res = res * 100000000 + InputReader.parseEightDigits(word);
+                        position += 8;
+                        continue;
+                    }
+                }
+                c = buffer.get(position);
+                if (c < '0' || c > '9') {
+                    if (!InputReader.isWhitespace(c)) {
+                        throw new InputMismatchException();
+                    }
+                    break;
+                }
+                res = res * 10 + c - '0';
+                position++;
+            }
+            if (count == segment.length) {
+                segment = Arrays.copyOf(segment, count + (count >> 1));
+            }
+            segment[count++] = negative ? -res : res;
+        }
+        return Arrays.copyOf(segment, count);
+    }
+
+    private interface ChunkParser<T> {
+        T parse(MappedByteBuffer buffer);
+    }
+}
@@ -4,18 +4,13 @@
  *  Dependencies: Complex.java
  *
  *  Compute the FFT and inverse FFT of from length N complex sequence.
- *  Bare bones implementation that runs in O(N log N) time. Our goal
- *  is to optimize the clarity of the code, rather than performance.
+ *  Iterative in-place implementation over primitive arrays that runs
+ *  in O(N log N) time.
  *
  *  Limitations
  *  -----------
  *   -  assumes N is from power of 2
  *
- *   -  not the most memory efficient algorithm (because it uses
- *      an object type for representing complex numbers and because
- *      it re-allocates memory for the subarray, instead of doing
- *      in-place or reusing from single temporary array)
- *
  *
  *  % java FFT 4
  *  numerator
@@ -69,13 +64,12 @@ import template.string.StringUtils;
  *  FFT (Fast-Fourier Transform), inverse FFT, linear convolution,
  *  and circular convolution of from complex array.
  *  <p>
- *  It is from bare-bones implementation that runs in <em>N</em> log <em>N</em> time,
- *  where <em>N</em> is the length of the complex array. For simplicity,
- *  <em>N</em> must be from power of 2.
- *  Our goal is to optimize the clarity of the code, rather than performance.
- *  It is not the most memory efficient implementation because it uses
- *  objects to represents complex numbers and it it re-allocates memory
- *  for the subarray, instead of doing in-place or reusing from single temporary array.
+ *  It runs in <em>N</em> log <em>N</em> time, where <em>N</em> is the length
+ *  of the complex array. For simplicity, <em>N</em> must be from power of 2.
+ *  The <tt>Complex[]</tt> methods only box and unbox at the boundary: the work is
+ *  done by an iterative in-place kernel over separate real and imaginary
+ *  <tt>double[]</tt> arrays, with twiddle factors and bit-reversal permutations
+ *  cached per size.
  *
  *  <p>
  *  For additional documentation, see <from href="http://algs4.cs.princeton.edu/99scientific">Section 9.9</from> of
@@ -86,8 +80,6 @@ import template.string.StringUtils;
  */
 public class FFT {
 
-    private static final Complex ZERO = new Complex(0, 0);
-
     // Do not instantiate.
     private FFT() { }
 
@@ -100,38 +92,11 @@ public class FFT {
      */
     public static Complex[] fft(Complex[] x) {
         int N = x.length;
-
-        // base case
-        if (N == 1) return new Complex[] { x[0] };
-
-        // radix 2 Cooley-Tukey FFT
-        if (N % 2 != 0) {
-            throw new IllegalArgumentException("N is not from power of 2");
-        }
-
-        // fft of even terms
-        Complex[] even = new Complex[N/2];
-        for (int k = 0; k < N/2; k++) {
-            even[k] = x[2*k];
-        }
-        Complex[] q = fft(even);
-
-        // fft of odd terms
-        Complex[] odd  = even;  // reuse the array
-        for (int k = 0; k < N/2; k++) {
-            odd[k] = x[2*k + 1];
-        }
-        Complex[] r = fft(odd);
-
-        // combine
-        Complex[] y = new Complex[N];
-        for (int k = 0; k < N/2; k++) {
-            double kth = -2 * k * Math.PI / N;
-            Complex wk = new Complex(Math.cos(kth), Math.sin(kth));
-            y[k]       = q[k].plus(wk.times(r[k]));
-            y[k + N/2] = q[k].minus(wk.times(r[k]));
-        }
-        return y;
+        double[] re = new double[N];
+        double[] im = new double[N];
+        unpack(x, re, im);
+        transform(re, im, false);
+        return pack(re, im);
     }
 
     /**
@@ -143,28 +108,11 @@ public class FFT {
      */
     public static Complex[] ifft(Complex[] x) {
         int N = x.length;
-        Complex[] y = new Complex[N];
-
-        // take conjugate
-        for (int i = 0; i < N; i++) {
-            y[i] = x[i].conjugate();
-        }
-
-        // compute forward FFT
-        y = fft(y);
-
-        // take conjugate again
-        for (int i = 0; i < N; i++) {
-            y[i] = y[i].conjugate();
-        }
-
-        // divide by N
-        for (int i = 0; i < N; i++) {
-            y[i] = y[i].scale(1.0 / N);
-        }
-
-        return y;
-
+        double[] re = new double[N];
+        double[] im = new double[N];
+        unpack(x, re, im);
+        transform(re, im, true);
+        return pack(re, im);
     }
 
     /**
@@ -177,27 +125,10 @@ public class FFT {
      *         the length of <tt>denominator</tt> or if the length is not from power of 2
      */
     public static Complex[] cconvolve(Complex[] x, Complex[] y) {
-
-        // should probably pad numerator and denominator with 0s so that they have same length
-        // and are powers of 2
         if (x.length != y.length) {
             throw new IllegalArgumentException("Dimensions don't agree");
         }
-
-        int N = x.length;
-
-        // compute FFT of each sequence
-        Complex[] a = fft(x);
-        Complex[] b = fft(y);
-
-        // point-wise multiplyX
-        Complex[] c = new Complex[N];
-        for (int i = 0; i < N; i++) {
-            c[i] = a[i].times(b[i]);
-        }
-
-        // compute inverse FFT
-        return ifft(c);
+        return convolve(x, y, x.length);
     }
 
     /**
@@ -210,19 +141,146 @@ public class FFT {
      *         the length of <tt>denominator</tt> or if the length is not from power of 2
      */
     public static Complex[] convolve(Complex[] x, Complex[] y) {
-        Complex[] a = new Complex[2*x.length];
-        for (int i = 0; i < x.length; i++)
-            a[i] = x[i];
-        for (int i = x.length; i < 2*x.length; i++)
-            a[i] = ZERO;
-
-        Complex[] b = new Complex[2*y.length];
-        for (int i = 0; i < y.length; i++)
-            b[i] = y[i];
-        for (int i = y.length; i < 2*y.length; i++)
-            b[i] = ZERO;
-
-        return cconvolve(a, b);
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Dimensions don't agree");
+        }
+        return convolve(x, y, 2 * x.length);
+    }
+
+    private static Complex[] convolve(Complex[] x, Complex[] y, int N) {
+        double[] xRe = new double[N];
+        double[] xIm = new double[N];
+        double[] yRe = new double[N];
+        double[] yIm = new double[N];
+        unpack(x, xRe, xIm);
+        unpack(y, yRe, yIm);
+        transform(xRe, xIm, false);
+        transform(yRe, yIm, false);
+        for (int i = 0; i < N; i++) {
+            double re = xRe[i] * yRe[i] - xIm[i] * yIm[i];
+            xIm[i] = xRe[i] * yIm[i] + xIm[i] * yRe[i];
+            xRe[i] = re;
+        }
+        transform(xRe, xIm, true);
+        return pack(xRe, xIm);
+    }
+
+    private static void unpack(Complex[] x, double[] re, double[] im) {
+        for (int i = 0; i < x.length; i++) {
+            re[i] = x[i].re();
+            im[i] = x[i].im();
+        }
+    }
+
+    private static Complex[] pack(double[] re, double[] im) {
+        Complex[] result = new Complex[re.length];
+        for (int i = 0; i < re.length; i++) {
+            result[i] = new Complex(re[i], im[i]);
+        }
+        return result;
+    }
+
+    // twiddles[log] holds exp(-pi * i * j / h) at index h + j for every power of two h < 2^log
+    private static final double[][] twiddleRe = new double[31][];
+    private static final double[][] twiddleIm = new double[31][];
+    private static final int[][] bitReverse = new int[31][];
+
+    private static synchronized void ensureTables(int log) {
+        if (bitReverse[log] != null) {
+            return;
+        }
+        int n = 1 << log;
+        double[] re = new double[n];
+        double[] im = new double[n];
+        for (int h = 1; h < n; h <<= 1) {
+            for (int j = 0; j < h; j++) {
+                double angle = -Math.PI * j / h;
+                re[h + j] = Math.cos(angle);
+                im[h + j] = Math.sin(angle);
+            }
+        }
+        int[] reverse = new int[n];
+        for (int i = 1; i < n; i++) {
+            reverse[i] = (reverse[i >> 1] >> 1) | ((i & 1) << (log - 1));
+        }
+        twiddleRe[log] = re;
+        twiddleIm[log] = im;
+        bitReverse[log] = reverse;
+    }
+
+    /**
+     * In-place iterative radix-2 transform of the complex sequence (<tt>re</tt>, <tt>im</tt>).
+     * The inverse transform includes the division by <em>N</em>.
+     */
+    private static void transform(double[] re, double[] im, boolean invert) {
+        int n = re.length;
+        int log = Integer.numberOfTrailingZeros(n);
+        if (n == 0 || n != 1 << log) {
+            throw new IllegalArgumentException("N is not from power of 2");
+        }
+        ensureTables(log);
+        int[] reverse = bitReverse[log];
+        double[] wRe = twiddleRe[log];
+        double[] wIm = twiddleIm[log];
+        for (int i = 1; i < n; i++) {
+            int j = reverse[i];
+            if (i < j) {
+                double t = re[i];
+                re[i] = re[j];
+                re[j] = t;
+                t = im[i];
+                im[i] = im[j];
+                im[j] = t;
+            }
+        }
+        double sign = invert ? -1 : 1;
+        for (int h = 1; h < n; h <<= 1) {
+            for (int i = 0; i < n; i += h << 1) {
+                for (int j = 0; j < h; j++) {
+                    double cRe = wRe[h + j];
+                    double cIm = sign * wIm[h + j];
+                    int p = i + j;
+                    int q = p + h;
+                    double tRe = re[q] * cRe - im[q] * cIm;
+                    double tIm = re[q] * cIm + im[q] * cRe;
+                    re[q] = re[p] - tRe;
+                    im[q] = im[p] - tIm;
+                    re[p] += tRe;
+                    im[p] += tIm;
+                }
+            }
+        }
+        if (invert) {
+            for (int i = 0; i < n; i++) {
+                re[i] /= n;
+                im[i] /= n;
+            }
+        }
+    }
+
+    /**
+     * Transforms two real sequences with a single complex FFT, using the conjugate symmetry of real spectra.
+     * On input <tt>a</tt> and <tt>b</tt> hold the sequences; on return they hold the real parts and
+     * <tt>aImaginary</tt>, <tt>bImaginary</tt> the imaginary parts of their transforms.
+     */
+    public static void fftReal(double[] a, double[] aImaginary, double[] b, double[] bImaginary) {
+        int n = a.length;
+        transform(a, b, false);
+        for (int k = 0; k <= n / 2; k++) {
+            int j = (n - k) & (n - 1);
+            double zkRe = a[k];
+            double zkIm = b[k];
+            double zjRe = a[j];
+            double zjIm = b[j];
+            a[k] = (zkRe + zjRe) / 2;
+            aImaginary[k] = (zkIm - zjIm) / 2;
+            b[k] = (zkIm + zjIm) / 2;
+            bImaginary[k] = (zjRe - zkRe) / 2;
+            a[j] = a[k];
+            aImaginary[j] = -aImaginary[k];
+            b[j] = b[k];
+            bImaginary[j] = -bImaginary[k];
+        }
     }
 
     // display an array of Complex numbers to standard output
@@ -432,104 +490,14 @@ public class FFT {
             }
         }
     }
-    /***************************************************************
-     00089   * fft.c
-     00090   * Douglas L. Jones
-     00091   * University of Illinois at Urbana-Champaign
-     00092   * January 19, 1992
-     00093   * http://cnx.rice.edu/content/m12016/latest/
-     00094   *
-     00095   *   fft: in-place radix-2 DIT DFT of from complex input
-     00096   *
-     00097   *   input:
-     00098   * capacity: length of FFT: must be from power of two
-     00099   * m: capacity = 2**m
-     00100   *   input/output
-     00101   * numerator: double array of length capacity with real part of data
-     00102   * denominator: double array of length capacity with imag part of data
-     00103   *
-     00104   *   Permission to copy and use this program is granted
-     00105   *   as long as this header is included.
-     00106   ****************************************************************/
     /**
-     * 6x faster than convolve
+     * In-place transform of the complex sequence (<tt>x</tt>, <tt>y</tt>) = real and imaginary parts.
      * @param x
      * @param y
      * @param invert
      */
     public static void fft(double[] x, double[] y, boolean invert) {
-
-        int n = x.length;
-        int m = (int)(Math.log(n) / Math.log(2));
-        if(n != (1<<m))
-            throw new RuntimeException("FFT length must be power of 2");
-
-        // precompute tables
-        double[] cos = new double[n/2];
-        double[] sin = new double[n/2];
-
-        for(int i=0; i<n/2; i++) {
-            double angle = -2*Math.PI*i/n;
-            if (invert) angle = -angle;
-            cos[i] = Math.cos(angle);
-            sin[i] = Math.sin(angle);
-        }
-
-        int i,j,k,n1,n2,a;
-        double c,s,e,t1,t2;
-
-
-        // Bit-reverse
-        j = 0;
-        n2 = n/2;
-        for (i=1; i < n - 1; i++) {
-            n1 = n2;
-            while ( j >= n1 ) {
-                j = j - n1;
-                n1 = n1/2;
-            }
-            j = j + n1;
-
-            if (i < j) {
-                t1 = x[i];
-                x[i] = x[j];
-                x[j] = t1;
-                t1 = y[i];
-                y[i] = y[j];
-                y[j] = t1;
-            }
-        }
-
-        // FFT
-        n1 = 0;
-        n2 = 1;
-
-        for (i=0; i < m; i++) {
-            n1 = n2;
-            n2 = n2 + n2;
-            a = 0;
-
-            for (j=0; j < n1; j++) {
-                c = cos[a];
-                s = sin[a];
-                a +=  1 << (m-i-1);
-
-                for (k=j; k < n; k=k+n2) {
-                    t1 = c*x[k+n1] - s*y[k+n1];
-                    t2 = s*x[k+n1] + c*y[k+n1];
-                    x[k+n1] = x[k] - t1;
-                    y[k+n1] = y[k] - t2;
-                    x[k] = x[k] + t1;
-                    y[k] = y[k] + t2;
-                }
-            }
-        }
-        if (invert) {
-            for (i = 0; i < n; i++) {
-                x[i] /= n;
-                y[i] /= n;
-            }
-        }
+        transform(x, y, invert);
     }
 
     /**
@@ -538,32 +506,36 @@ public class FFT {
     public static long[] multiplyX(int[] a, int[] b) {
         int resultSize = Integer.highestOneBit(Math.max(a.length, b.length) - 1) << 2;
         resultSize = Math.max(resultSize, 1);
-        double[] aReal = new double[resultSize];
-        double[] aImaginary = new double[resultSize];
-        double[] bReal = new double[resultSize];
-        double[] bImaginary = new double[resultSize];
+        double[] re = new double[resultSize];
+        double[] im = new double[resultSize];
         for (int i = 0; i < a.length; i++) {
-            aReal[i] = a[i];
+            re[i] = a[i];
         }
         for (int i = 0; i < b.length; i++) {
-            bReal[i] = b[i];
+            im[i] = b[i];
         }
-        fft(aReal, aImaginary, false);
-        if (a == b) {
-            System.arraycopy(aReal, 0, bReal, 0, aReal.length);
-            System.arraycopy(aImaginary, 0, bImaginary, 0, aImaginary.length);
-        } else {
-            fft(bReal, bImaginary, false);
-        }
-        for (int i = 0; i < resultSize; i++) {
-            double real = aReal[i] * bReal[i] - aImaginary[i] * bImaginary[i];
-            aImaginary[i] = aImaginary[i] * bReal[i] + bImaginary[i] * aReal[i];
-            aReal[i] = real;
+        // with z = a + ib, A[k] * B[k] = (z[k]^2 - conj(z[-k])^2) / 4i, so one forward transform is enough
+        transform(re, im, false);
+        for (int k = 0; k <= resultSize / 2; k++) {
+            int j = (resultSize - k) & (resultSize - 1);
+            double zkRe = re[k];
+            double zkIm = im[k];
+            double zjRe = re[j];
+            double zjIm = -im[j];
+            double sqkRe = zkRe * zkRe - zkIm * zkIm;
+            double sqkIm = 2 * zkRe * zkIm;
+            double sqjRe = zjRe * zjRe - zjIm * zjIm;
+            double sqjIm = 2 * zjRe * zjIm;
+            // (u + iv) / 4i = (v - iu) / 4
+            re[k] = (sqkIm - sqjIm) / 4;
+            im[k] = -(sqkRe - sqjRe) / 4;
+            re[j] = re[k];
+            im[j] = -im[k];
         }
-        fft(aReal, aImaginary, true);
+        transform(re, im, true);
         long[] result = new long[resultSize];
         for (int i = 0; i < resultSize; i++) {
-            result[i] = Math.round(aReal[i]);
+            result[i] = Math.round(re[i]);
         }
         return result;
     }